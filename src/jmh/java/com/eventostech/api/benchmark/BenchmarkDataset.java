@@ -0,0 +1,75 @@
+package com.eventostech.api.benchmark;
+
+import com.eventostech.api.domain.address.AddressKey;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Gera a massa de dados dos benchmarks diretamente via JDBC em lotes: eventos distribuídos ao longo
+ * do próximo ano, metade presenciais (com endereço) e cupons em um a cada dez eventos.
+ */
+public final class BenchmarkDataset {
+
+    static final String[][] CITIES = {{"Recife", "PE"}, {"São Paulo", "SP"}, {"Curitiba", "PR"}, {"Salvador", "BA"}};
+    static final String[] TOPICS = {"Arquitetura", "Kotlin", "Java", "Dados", "Segurança", "Cloud", "Frontend", "DevOps"};
+
+    private static final int BATCH_SIZE = 5000;
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    private BenchmarkDataset() {
+    }
+
+    /**
+     * Insere os eventos e devolve os IDs de alguns deles (com cupons), usados nos benchmarks de detalhes.
+     */
+    public static List<UUID> seed(JdbcTemplate jdbcTemplate, int events) {
+        Random random = new Random(42);
+        long now = System.currentTimeMillis();
+        List<UUID> sampleIds = new ArrayList<>();
+        List<Object[]> eventRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> addressRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> couponRows = new ArrayList<>(BATCH_SIZE);
+
+        for (int i = 0; i < events; i++) {
+            UUID id = UUID.randomUUID();
+            String topic = TOPICS[random.nextInt(TOPICS.length)];
+            boolean remote = i % 2 == 0;
+            eventRows.add(new Object[]{id, topic + " Conf " + i, "Encontro sobre " + topic.toLowerCase() + " e tecnologia",
+                    "https://cdn.eventostech.com/" + id + ".jpg", "READY", "https://eventostech.com/" + i, remote,
+                    new Timestamp(now + HOUR + (long) (random.nextDouble() * 365 * 24 * HOUR))});
+            if (!remote) {
+                String[] city = CITIES[random.nextInt(CITIES.length)];
+                addressRows.add(new Object[]{UUID.randomUUID(), city[0], city[1], AddressKey.of(city[0]), AddressKey.of(city[1]), id});
+            }
+            if (i % 10 == 0) {
+                for (int c = 0; c < 3; c++) {
+                    couponRows.add(new Object[]{UUID.randomUUID(), "CUPOM" + i + "_" + c, 10 + c * 5,
+                            new Timestamp(now + (c + 1) * 30 * 24 * HOUR), id});
+                }
+                if (sampleIds.size() < 1000) {
+                    sampleIds.add(id);
+                }
+            }
+            if (eventRows.size() == BATCH_SIZE) {
+                flush(jdbcTemplate, eventRows, addressRows, couponRows);
+            }
+        }
+        flush(jdbcTemplate, eventRows, addressRows, couponRows);
+        return sampleIds;
+    }
+
+    private static void flush(JdbcTemplate jdbcTemplate, List<Object[]> events, List<Object[]> addresses, List<Object[]> coupons) {
+        jdbcTemplate.batchUpdate("INSERT INTO event (id, title, description, img_url, img_status, event_url, remote, date) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", events);
+        jdbcTemplate.batchUpdate("INSERT INTO address (id, city, uf, city_key, uf_key, event_id) VALUES (?, ?, ?, ?, ?, ?)", addresses);
+        jdbcTemplate.batchUpdate("INSERT INTO coupon (id, code, discount, valid, event_id) VALUES (?, ?, ?, ?, ?)", coupons);
+        events.clear();
+        addresses.clear();
+        coupons.clear();
+    }
+}
@@ -0,0 +1,92 @@
+package com.eventostech.api.benchmark;
+
+import com.eventostech.api.ApiApplication;
+import com.eventostech.api.domain.bulk.BulkImportReportDTO;
+import com.eventostech.api.domain.event.EventsRequestDTO;
+import com.eventostech.api.service.BulkImportService;
+import com.eventostech.api.service.EventService;
+import com.eventostech.api.service.ImportFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão (linhas por segundo) da importação em lote comparada à criação de um evento por requisição,
+ * sobre um H2 em memória. Cada invocação grava {@value #ROWS} eventos passados, que não entram nas listagens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class BulkImportBenchmark {
+
+    private static final int ROWS = 2000;
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private BulkImportService bulkImportService;
+    private byte[] csv;
+    private long date;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:bulk-benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--feed.upcoming.enabled=false",
+                        "--logging.level.root=WARN");
+        eventService = context.getBean(EventService.class);
+        bulkImportService = context.getBean(BulkImportService.class);
+
+        date = System.currentTimeMillis() - DAY;
+        StringBuilder content = new StringBuilder("title,description,date,city,state,remote,eventUrl\n");
+        for (int i = 0; i < ROWS; i++) {
+            content.append("Lote ").append(i).append(",Benchmark,").append(date).append(",Recife,PE,")
+                    .append(i % 2 == 0).append(",https://eventostech.com/lote/").append(i).append('\n');
+        }
+        csv = content.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int perRowCreation() {
+        for (int i = 0; i < ROWS; i++) {
+            eventService.createEvent(new EventsRequestDTO("Por linha " + i, "Benchmark", date, "Recife", "PE",
+                    i % 2 == 0, "https://eventostech.com/linha/" + i, null));
+        }
+        return ROWS;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BulkImportReportDTO bulkImport() {
+        return bulkImportService.importEvents(new ByteArrayInputStream(csv), ImportFormat.CSV);
+    }
+}
@@ -0,0 +1,154 @@
+package com.eventostech.api.benchmark;
+
+import com.eventostech.api.ApiApplication;
+import com.eventostech.api.domain.event.EventChangedEvent;
+import com.eventostech.api.domain.event.EventDetailsDTO;
+import com.eventostech.api.domain.event.EventField;
+import com.eventostech.api.domain.event.EventResponseDTO;
+import com.eventostech.api.repositories.EventRepository;
+import com.eventostech.api.service.CouponIndex;
+import com.eventostech.api.service.EventDetailsCache;
+import com.eventostech.api.service.EventService;
+import com.eventostech.api.service.UpcomingEventsFeed;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminhos quentes de leitura do EventService sobre um H2 em memória com a quantidade de eventos
+ * definida por {@code events} (ex.: -p events=10000,100000,1000000).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class EventServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final Set<EventField> LIST_FIELDS = EventField.parse("id,title,date,city,thumbUrl");
+
+    @Param({"10000"})
+    private int events;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private EventRepository eventRepository;
+    private EventDetailsCache eventDetailsCache;
+    private CouponIndex couponIndex;
+    private ObjectMapper objectMapper;
+
+    private List<UUID> sampleIds;
+    private List<EventResponseDTO> responsePage; // Página usada no benchmark de serialização
+    private Date startDate;
+    private Date endDate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--feed.upcoming.enabled=true",
+                        "--logging.level.root=WARN");
+        eventService = context.getBean(EventService.class);
+        eventRepository = context.getBean(EventRepository.class);
+        eventDetailsCache = context.getBean(EventDetailsCache.class);
+        couponIndex = context.getBean(CouponIndex.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        sampleIds = BenchmarkDataset.seed(context.getBean(JdbcTemplate.class), events);
+        context.getBean(UpcomingEventsFeed.class).rebuild();
+
+        responsePage = eventService.getUpcomingEvents(0, 100);
+        startDate = new Date();
+        endDate = new Date(startDate.getTime() + 90L * 24 * 60 * 60 * 1000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private int randomPage() {
+        return ThreadLocalRandom.current().nextInt(Math.max(1, Math.min(events, 10_000) / PAGE_SIZE));
+    }
+
+    private UUID randomEventId() {
+        return sampleIds.get(ThreadLocalRandom.current().nextInt(sampleIds.size()));
+    }
+
+    @Benchmark
+    public List<EventResponseDTO> upcomingEventsFromFeed() {
+        return eventService.getUpcomingEvents(randomPage(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<EventResponseDTO> upcomingEventsFromDatabase() {
+        return eventRepository.findUpcomingEvents(new Date(), PageRequest.of(randomPage(), PAGE_SIZE)).getContent();
+    }
+
+    @Benchmark
+    public List<EventResponseDTO> filteredEvents() {
+        String[] city = BenchmarkDataset.CITIES[ThreadLocalRandom.current().nextInt(BenchmarkDataset.CITIES.length)];
+        return eventService.getFilteredEvents(0, PAGE_SIZE, city[0], city[1], startDate, endDate);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> filteredEventFields() {
+        String[] city = BenchmarkDataset.CITIES[ThreadLocalRandom.current().nextInt(BenchmarkDataset.CITIES.length)];
+        return eventService.getFilteredEvents(0, PAGE_SIZE, city[0], city[1], startDate, endDate, LIST_FIELDS);
+    }
+
+    @Benchmark
+    public List<EventResponseDTO> searchEvents() {
+        String topic = BenchmarkDataset.TOPICS[ThreadLocalRandom.current().nextInt(BenchmarkDataset.TOPICS.length)];
+        return eventService.searchEvents(topic, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public EventDetailsDTO eventDetailsCached() {
+        return eventService.getEventDetails(randomEventId());
+    }
+
+    @Benchmark
+    public EventDetailsDTO eventDetailsUncached() {
+        UUID eventId = randomEventId();
+        // Descarta o evento do cache de detalhes e recarrega seus cupons no índice
+        eventDetailsCache.onEventChanged(new EventChangedEvent(eventId, EventChangedEvent.Type.EVENT_UPDATED));
+        couponIndex.onEventChanged(new EventChangedEvent(eventId, EventChangedEvent.Type.COUPON_ADDED));
+        return eventService.getEventDetails(eventId);
+    }
+
+    @Benchmark
+    public byte[] serializeEventPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responsePage);
+    }
+}
@@ -0,0 +1,356 @@
+package com.eventostech.api.benchmark;
+
+import com.eventostech.api.ApiApplication;
+import com.eventostech.api.service.UpcomingEventsFeed;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de carga da API REST. Sobe a aplicação (H2 em memória ou o banco configurado, com S3 falso)
+ * ou usa uma instância já em execução, e executa estágios com número crescente de usuários virtuais
+ * (virtual threads, laço fechado) seguindo um mix de tráfego configurável.
+ * Para cada estágio e operação reporta vazão e latências (p50/p90/p99/p99.9/máx) a partir de
+ * histogramas HDR, além do uso do pool Hikari lido do actuator, indicando onde a saturação começa.
+ *
+ * <p>Argumentos (chave=valor): target (URL de uma instância já em execução), db (h2 ou postgres),
+ * events (eventos gerados ao subir a aplicação), stages (usuários por estágio, ex.: 8,32,128),
+ * duration e warmup (ISO-8601, por estágio), mix (ex.: list=50,filter=20,search=20,coupon=10)
+ * threads (platform, virtual ou platform,virtual para comparar os dois modos), s3-latency (latência
+ * simulada do S3 falso) e report (arquivo do relatório; os histogramas vão para o mesmo caminho com extensão .hlog).
+ * A operação create cadastra eventos com imagem, com o upload feito durante a requisição.
+ */
+public final class LoadTest {
+
+    enum Operation { LIST, FILTER, SEARCH, COUPON, CREATE }
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "db", "h2",
+            "events", "5000",
+            "stages", "8,32,128",
+            "duration", "PT20S",
+            "warmup", "PT5S",
+            "mix", "list=50,filter=20,search=20,coupon=10",
+            "threads", "platform",
+            "s3-latency", "PT0.1S",
+            "report", "target/load-test-report.txt");
+
+    private static final byte[] IMAGE = new byte[64 * 1024]; // Conteúdo enviado nas criações de evento
+
+    private final Map<String, String> options;
+    private final String baseUrl;
+    private final String label; // Modo de threads da aplicação testada, quando subida pelo teste
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    private final List<String> eventIds = new ArrayList<>();
+    private final AtomicLong couponSequence = new AtomicLong();
+    private final ExecutorService users = Executors.newVirtualThreadPerTaskExecutor();
+
+    private LoadTest(Map<String, String> options, String baseUrl, String label) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.label = label;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(users)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (String entry : options.get("mix").split(",")) {
+            String[] weight = entry.split("=");
+            mix.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            options.put(option[0], option[1]);
+        }
+
+        Path reportPath = Path.of(options.get("report"));
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        Path histogramPath = Path.of(reportPath.toString().replaceAll("\\.[^.]+$", "") + ".hlog");
+        try (PrintStream report = new PrintStream(Files.newOutputStream(reportPath));
+             PrintStream histogramLog = new PrintStream(Files.newOutputStream(histogramPath))) {
+            HistogramLogWriter histograms = new HistogramLogWriter(histogramLog);
+            histograms.outputLogFormatVersion();
+            histograms.outputLegend();
+
+            if (options.containsKey("target")) {
+                new LoadTest(options, options.get("target"), "externa").run(report, histograms);
+            } else {
+                // Cada modo de threads roda em uma aplicação nova, com a mesma massa de dados
+                for (String threads : options.get("threads").split(",")) {
+                    try (ConfigurableApplicationContext context = boot(options, threads.trim())) {
+                        String baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+                        new LoadTest(options, baseUrl, threads.trim()).run(report, histograms);
+                    }
+                }
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Sobe a aplicação em uma porta livre com o armazenamento falso e gera a massa de dados.
+     */
+    private static ConfigurableApplicationContext boot(Map<String, String> options, String threads) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ApiApplication.class, StubStorageConfiguration.class);
+        List<String> arguments = new ArrayList<>(List.of("--server.port=0", "--logging.level.root=WARN",
+                "--spring.threads.virtual.enabled=" + "virtual".equals(threads),
+                "--image.ingestion.async=false", // Upload no thread da requisição, como nas rajadas de criação
+                "--storage.type=stub",
+                "--stub.s3.latency=" + options.get("s3-latency")));
+        if ("h2".equals(options.get("db"))) {
+            builder.profiles("test");
+            arguments.add("--spring.datasource.url=jdbc:h2:mem:loadtest-" + threads + ";DB_CLOSE_DELAY=-1");
+            arguments.add("--spring.jpa.properties.hibernate.generate_statistics=false");
+        }
+        ConfigurableApplicationContext context = builder.run(arguments.toArray(String[]::new));
+        int events = Integer.parseInt(options.get("events"));
+        if (events > 0) {
+            BenchmarkDataset.seed(context.getBean(JdbcTemplate.class), events);
+            context.getBean(UpcomingEventsFeed.class).rebuild();
+        }
+        return context;
+    }
+
+    private void run(PrintStream report, HistogramLogWriter histograms) throws Exception {
+        this.loadEventIds();
+        this.print(report, "%nTeste de carga de %s (threads: %s) | mix %s | estágio %s (+%s aquecimento)%n",
+                baseUrl, label, options.get("mix"), options.get("duration"), options.get("warmup"));
+
+        Integer saturatedAt = null;
+        for (String stage : options.get("stages").split(",")) {
+            int concurrency = Integer.parseInt(stage.trim());
+            StageResult result = this.runStage(concurrency);
+            this.printStage(report, concurrency, result);
+            result.histograms.forEach((operation, histogram) -> {
+                histogram.setTag(label + "-" + concurrency + "-" + operation.name().toLowerCase());
+                histograms.outputIntervalHistogram(histogram);
+            });
+            if (saturatedAt == null && (result.maxPendingConnections > 0 || result.maxQueuedOnBulkhead > 0)) {
+                saturatedAt = concurrency;
+            }
+        }
+        this.print(report, saturatedAt == null
+                ? "%nNenhuma requisição aguardou conexão do banco em nenhum estágio.%n"
+                : "%nSaturação das conexões do banco a partir de " + saturatedAt + " usuários simultâneos.%n");
+        users.shutdownNow();
+    }
+
+    private record StageResult(Duration elapsed, Map<Operation, Histogram> histograms, Map<Operation, Long> errors,
+                               double maxActiveConnections, double maxPendingConnections, double maxQueuedOnBulkhead) {
+    }
+
+    private StageResult runStage(int concurrency) throws InterruptedException {
+        Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+        Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+        for (Operation operation : mix.keySet()) {
+            recorders.put(operation, new Recorder(3));
+            errors.put(operation, new AtomicLong());
+        }
+
+        long warmupEnd = System.nanoTime() + Duration.parse(options.get("warmup")).toNanos();
+        long end = warmupEnd + Duration.parse(options.get("duration")).toNanos();
+        List<java.util.concurrent.Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            running.add(users.submit(() -> {
+                while (System.nanoTime() < end) {
+                    Operation operation = this.nextOperation();
+                    long start = System.nanoTime();
+                    boolean ok = this.execute(operation);
+                    recorders.get(operation).recordValue(Math.max(1, (System.nanoTime() - start) / 1000));
+                    if (!ok && start >= warmupEnd) {
+                        errors.get(operation).incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        Thread.sleep(Duration.ofNanos(warmupEnd - System.nanoTime()));
+        recorders.values().forEach(Recorder::reset);
+        long measureStart = System.nanoTime();
+
+        double[] pool = new double[3]; // Máximos de conexões ativas, aguardando conexão e na fila do bulkhead do banco
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            pool[0] = Math.max(pool[0], this.metric("hikaricp.connections.active"));
+            pool[1] = Math.max(pool[1], this.metric("hikaricp.connections.pending"));
+            pool[2] = Math.max(pool[2], this.metric("bulkhead.queued?tag=name:database"));
+        }, 0, 1, TimeUnit.SECONDS);
+
+        for (java.util.concurrent.Future<?> user : running) {
+            try {
+                user.get();
+            } catch (java.util.concurrent.ExecutionException e) {
+                throw new IllegalStateException("Falha em um usuário virtual", e.getCause());
+            }
+        }
+        sampler.shutdownNow();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - measureStart);
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        Map<Operation, Long> errorCounts = new EnumMap<>(Operation.class);
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        errors.forEach((operation, count) -> errorCounts.put(operation, count.get()));
+        return new StageResult(elapsed, histograms, errorCounts, pool[0], pool[1], pool[2]);
+    }
+
+    private Operation nextOperation() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Operation, Integer> weight : mix.entrySet()) {
+            pick -= weight.getValue();
+            if (pick < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Mix de tráfego vazio");
+    }
+
+    /**
+     * Executa uma requisição da operação e indica se ela teve sucesso (status 2xx).
+     */
+    private boolean execute(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpRequest request = switch (operation) {
+            case LIST -> this.get("/api/event?page=" + random.nextInt(10) + "&size=20");
+            case FILTER -> {
+                String[] city = BenchmarkDataset.CITIES[random.nextInt(BenchmarkDataset.CITIES.length)];
+                LocalDate today = LocalDate.now();
+                yield this.get("/api/event/filter?city=" + city[0].replace(" ", "%20") + "&uf=" + city[1]
+                        + "&startDate=" + today + "&endDate=" + today.plusDays(90));
+            }
+            case SEARCH -> this.get("/api/event/search?title="
+                    + BenchmarkDataset.TOPICS[random.nextInt(BenchmarkDataset.TOPICS.length)] + "&size=20");
+            case COUPON -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/coupon/event/"
+                            + eventIds.get(random.nextInt(eventIds.size()))))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"code\":\"LOAD" + couponSequence.incrementAndGet()
+                            + "\",\"discount\":10,\"valid\":" + (System.currentTimeMillis() + 86_400_000L) + "}"))
+                    .build();
+            case CREATE -> this.createEventRequest();
+        };
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Cadastro de evento com imagem (multipart), que faz o upload ao S3 durante a requisição.
+     */
+    private HttpRequest createEventRequest() {
+        String boundary = "load-test-" + UUID.randomUUID();
+        StringBuilder fields = new StringBuilder();
+        Map.of("title", "Carga " + couponSequence.incrementAndGet(), "description", "Evento do teste de carga",
+                        "date", String.valueOf(System.currentTimeMillis() + 86_400_000L), "city", "Recife",
+                        "state", "PE", "remote", "true", "eventUrl", "https://eventostech.com/carga")
+                .forEach((name, value) -> fields.append("--").append(boundary).append("\r\n")
+                        .append("Content-Disposition: form-data; name=\"").append(name).append("\"\r\n\r\n")
+                        .append(value).append("\r\n"));
+        fields.append("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"image\"; filename=\"banner.jpg\"\r\n")
+                .append("Content-Type: image/jpeg\r\n\r\n");
+        byte[] head = fields.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/event"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArrays(List.of(head, IMAGE, tail)))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private double metric(String name) {
+        try {
+            HttpResponse<String> response = client.send(this.get("/actuator/metrics/" + name),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return 0;
+            }
+            return objectMapper.readTree(response.body()).path("measurements").path(0).path("value").asDouble();
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    /**
+     * Obtém IDs de eventos existentes para as requisições de cadastro de cupom.
+     */
+    private void loadEventIds() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(this.get("/api/event?page=0&size=100"),
+                HttpResponse.BodyHandlers.ofString());
+        for (JsonNode event : objectMapper.readTree(response.body())) {
+            eventIds.add(event.path("id").asText());
+        }
+        if (eventIds.isEmpty() && mix.containsKey(Operation.COUPON)) {
+            throw new IllegalStateException("Nenhum evento futuro encontrado para o cadastro de cupons");
+        }
+    }
+
+    private void printStage(PrintStream report, int concurrency, StageResult result) {
+        double seconds = result.elapsed.toNanos() / 1e9;
+        long total = result.histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        this.print(report, "%n== %d usuários | %.0f req/s | Hikari: máx. %.0f ativas, máx. %.0f aguardando | bulkhead do banco: máx. %.0f na fila ==%n",
+                concurrency, total / seconds, result.maxActiveConnections, result.maxPendingConnections,
+                result.maxQueuedOnBulkhead);
+        this.print(report, "%-8s %9s %9s %9s %9s %9s %9s %9s %7s%n",
+                "op", "req", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "máx ms", "erros");
+        result.histograms.forEach((operation, histogram) -> this.print(report,
+                "%-8s %9d %9.0f %9.2f %9.2f %9.2f %9.2f %9.2f %7d%n",
+                operation.name().toLowerCase(), histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0, histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0, result.errors.get(operation)));
+    }
+
+    private void print(PrintStream report, String format, Object... args) {
+        System.out.printf(format, args);
+        report.printf(format, args);
+    }
+}
@@ -0,0 +1,99 @@
+package com.eventostech.api.benchmark;
+
+import com.eventostech.api.domain.event.EventField;
+import com.eventostech.api.domain.event.EventResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Custo de serialização e tamanho de uma página da listagem em JSON e em CBOR, com o evento completo
+ * e apenas com os campos de uma listagem móvel (fields=id,title,date,city,thumbUrl).
+ * O tamanho de cada combinação é impresso no início da execução.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    private static final Set<EventField> LIST_FIELDS = EventField.parse("id,title,date,city,thumbUrl");
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private List<EventResponseDTO> page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        json = Jackson2ObjectMapperBuilder.json().build();
+        cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+
+        long now = System.currentTimeMillis();
+        page = IntStream.range(0, pageSize)
+                .mapToObj(i -> {
+                    String[] city = BenchmarkDataset.CITIES[i % BenchmarkDataset.CITIES.length];
+                    String topic = BenchmarkDataset.TOPICS[i % BenchmarkDataset.TOPICS.length];
+                    String imgUrl = "https://cdn.eventostech.com/events/" + UUID.randomUUID() + "/original.jpg";
+                    return new EventResponseDTO(UUID.randomUUID(), "Conferência de " + topic + " " + i,
+                            ("Palestras, oficinas e networking sobre " + topic + " com especialistas do mercado. ").repeat(3),
+                            new Date(now + i * 3_600_000L), city[0], city[1], false,
+                            "https://eventostech.com/eventos/" + i, imgUrl, imgUrl.replace("original", "thumb"));
+                })
+                .toList();
+
+        System.out.printf("%nTamanho da página (%d eventos): JSON completo %d bytes, JSON com campos %d bytes, " +
+                        "CBOR completo %d bytes, CBOR com campos %d bytes%n", pageSize,
+                json.writeValueAsBytes(page).length, json.writeValueAsBytes(this.project()).length,
+                cbor.writeValueAsBytes(page).length, cbor.writeValueAsBytes(this.project()).length);
+    }
+
+    private List<Map<String, Object>> project() {
+        return page.stream().map(event -> EventField.project(event, LIST_FIELDS)).toList();
+    }
+
+    @Benchmark
+    public byte[] jsonFull() throws JsonProcessingException {
+        return json.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] jsonFields() throws JsonProcessingException {
+        return json.writeValueAsBytes(this.project());
+    }
+
+    @Benchmark
+    public byte[] cborFull() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] cborFields() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(this.project());
+    }
+}
@@ -0,0 +1,133 @@
+package com.eventostech.api.benchmark;
+
+import com.eventostech.api.service.S3StorageService;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de upload do S3StorageService sob concorrência. O S3 é simulado por um servidor HTTP local
+ * que lê o corpo e responde após {@code latencyMs}, isolando o custo do cliente (pool de conexões
+ * Netty, assinatura, multipart) do custo da rede. Cada operação envia {@code concurrency} objetos:
+ * {@code concurrent} dispara todos e aguarda o conjunto; {@code sequential} envia um de cada vez,
+ * como o fluxo síncrono anterior.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class StorageBenchmark {
+
+    @Param({"16", "64"})
+    private int concurrency;
+
+    @Param({"8", "50"})
+    private int maxConnections;
+
+    @Param({"65536"})
+    private int objectSize;
+
+    @Param({"20"})
+    private int latencyMs;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private S3AsyncClient s3Client;
+    private S3Presigner presigner;
+    private S3StorageService storage;
+    private byte[] content;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        serverThreads = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(serverThreads);
+        server.createContext("/", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.transferTo(OutputStream.nullOutputStream());
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("ETag", "\"benchmark\"");
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+
+        s3Client = S3AsyncClient.builder()
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("benchmark", "benchmark")))
+                .endpointOverride(URI.create("http://localhost:" + server.getAddress().getPort()))
+                .forcePathStyle(true)
+                .serviceConfiguration(S3Configuration.builder().checksumValidationEnabled(false).build())
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(maxConnections)
+                        .maxPendingConnectionAcquires(10_000)
+                        .connectionAcquisitionTimeout(Duration.ofSeconds(30))
+                        .tcpKeepAlive(true))
+                .build();
+        presigner = S3Presigner.builder().region(Region.US_EAST_1).build();
+        storage = new S3StorageService(s3Client, presigner, "benchmark");
+
+        content = new byte[objectSize];
+        ThreadLocalRandom.current().nextBytes(content);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        s3Client.close();
+        presigner.close();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Benchmark
+    public void concurrent() {
+        CompletableFuture<?>[] uploads = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            uploads[i] = storage.put("benchmark/" + i, content, "application/octet-stream");
+        }
+        CompletableFuture.allOf(uploads).join();
+    }
+
+    @Benchmark
+    public void sequential() {
+        for (int i = 0; i < concurrency; i++) {
+            storage.put("benchmark/" + i, content, "application/octet-stream").join();
+        }
+    }
+}
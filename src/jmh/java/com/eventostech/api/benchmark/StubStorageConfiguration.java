@@ -0,0 +1,80 @@
+package com.eventostech.api.benchmark;
+
+import com.eventostech.api.service.StorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Armazenamento falso para o teste de carga (ativado com {@code storage.type=stub}): descarta o
+ * conteúdo enviado (lendo-o por completo, como o cliente do S3 faria), simula a latência da rede sem
+ * ocupar thread e devolve URLs locais, permitindo rodar sem rede nem credenciais.
+ */
+@Configuration
+@ConditionalOnProperty(name = "storage.type", havingValue = "stub")
+public class StubStorageConfiguration {
+
+    @Bean
+    public StorageService stubStorage(@Value("${stub.s3.latency:PT0S}") Duration latency) {
+        Executor delayed = CompletableFuture.delayedExecutor(latency.toNanos(), TimeUnit.NANOSECONDS);
+        return new StorageService() {
+            @Override
+            public CompletableFuture<String> put(String key, Path file, String contentType) {
+                try (InputStream content = Files.newInputStream(file)) {
+                    return this.put(key, content, -1, contentType);
+                } catch (IOException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+
+            @Override
+            public CompletableFuture<String> put(String key, byte[] content, String contentType) {
+                return CompletableFuture.supplyAsync(() -> this.url(key), delayed);
+            }
+
+            @Override
+            public CompletableFuture<String> put(String key, InputStream content, long contentLength, String contentType) {
+                try {
+                    content.transferTo(OutputStream.nullOutputStream());
+                } catch (IOException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+                return CompletableFuture.supplyAsync(() -> this.url(key), delayed);
+            }
+
+            @Override
+            public PresignedUpload presignPut(String key, String contentType, long contentLength, Duration ttl) {
+                return new PresignedUpload(this.url(key), Map.of("Content-Type", contentType), Instant.now().plus(ttl));
+            }
+
+            @Override
+            public CompletableFuture<Optional<StoredObject>> head(String key) {
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+
+            @Override
+            public CompletableFuture<Void> delete(String key) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public String url(String key) {
+                return "http://localhost/stub/" + key;
+            }
+        };
+    }
+}
@@ -1,28 +1,87 @@
 package com.eventostech.api.config;
 
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.AmazonS3ClientBuilder;
-import org.springframework.beans.factory.annotation.Configurable;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.multipart.MultipartConfiguration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.time.Duration;
 
 @Configuration
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
 public class AWSconfig {
 
     @Value("${aws.region}")
     private String awsRegion; // Região da AWS a ser configurada para o cliente S3
 
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint; // Endpoint alternativo (serviços compatíveis com S3); vazio usa o da AWS
+
+    @Value("${aws.s3.multipart-threshold}")
+    private long multipartThreshold; // Tamanho (bytes) a partir do qual o upload passa a ser multipart
+
+    @Value("${aws.s3.part-size}")
+    private long partSize; // Tamanho (bytes) de cada parte do upload multipart
+
+    @Value("${aws.s3.max-connections}")
+    private int maxConnections; // Conexões HTTP simultâneas do cliente S3
+
+    @Value("${aws.s3.max-pending-connection-acquires}")
+    private int maxPendingConnectionAcquires; // Requisições que podem aguardar conexão livre
+
+    @Value("${aws.s3.connection-acquisition-timeout}")
+    private Duration connectionAcquisitionTimeout; // Espera máxima por uma conexão livre
+
+    /**
+     * Cria o cliente assíncrono do Amazon S3 sobre Netty. O pool de conexões é o limite de envios
+     * simultâneos: envios além dele aguardam conexão na fila do cliente, sem ocupar threads.
+     * Objetos acima do limite configurado são enviados em partes (multipart upload).
+     *
+     * @return Instância configurada do cliente assíncrono do Amazon S3.
+     */
+    @Bean(destroyMethod = "close")
+    public S3AsyncClient createS3Client() {
+        S3AsyncClientBuilder builder = S3AsyncClient.builder()
+                .region(Region.of(awsRegion))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(maxConnections)
+                        .maxPendingConnectionAcquires(maxPendingConnectionAcquires)
+                        .connectionAcquisitionTimeout(connectionAcquisitionTimeout)
+                        .connectionMaxIdleTime(Duration.ofSeconds(60))
+                        .tcpKeepAlive(true))
+                .multipartEnabled(true)
+                .multipartConfiguration(MultipartConfiguration.builder()
+                        .thresholdInBytes(multipartThreshold)
+                        .minimumPartSizeInBytes(partSize)
+                        .build());
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+        }
+        return builder.build();
+    }
+
     /**
-     * Cria uma instância do cliente Amazon S3 configurada com a região especificada.
+     * Cria o gerador de URLs pré-assinadas, usado para que os clientes enviem imagens diretamente ao
+     * bucket. A assinatura é calculada localmente, sem chamada à AWS.
      *
-     * @return Instância configurada do cliente Amazon S3.
+     * @return Instância configurada do S3Presigner.
      */
-    @Bean
-    public AmazonS3 createS3Instance(){
-        return AmazonS3ClientBuilder
-                .standard()
-                .withRegion(awsRegion)
-                .build();
+    @Bean(destroyMethod = "close")
+    public S3Presigner createS3Presigner() {
+        S3Presigner.Builder builder = S3Presigner.builder()
+                .region(Region.of(awsRegion));
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build());
+        }
+        return builder.build();
     }
 }
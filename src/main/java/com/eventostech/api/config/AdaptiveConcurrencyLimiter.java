@@ -0,0 +1,126 @@
+package com.eventostech.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limite adaptativo de requisições simultâneas, ajustado pela latência (algoritmo de gradiente).
+ * A cada janela, a latência média da janela é comparada com a média de longo prazo: enquanto ela se
+ * mantém dentro da tolerância o limite cresce (na raiz quadrada do limite atual, como folga de fila);
+ * quando sobe, o limite cai na proporção do aumento. Requisições acima do limite são recusadas de
+ * imediato, em vez de se acumularem e aumentarem a latência de todas.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2; // Peso do novo valor no ajuste do limite
+    private static final int LONG_WINDOWS = 100; // Janelas consideradas na média de longo prazo
+    private static final double MIN_GRADIENT = 0.5; // Maior redução do limite em uma janela
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long windowNanos;
+    private final int minSamples;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger(); // Maior ocupação na janela atual
+    private final LongAdder latencySum = new LongAdder();
+    private final LongAdder latencyCount = new LongAdder();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final Counter rejected;
+    private volatile double limit;
+    private double longLatency; // Média de longo prazo; alterada apenas em update()
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      Duration window, int minSamples, MeterRegistry meterRegistry) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowNanos = window.toNanos();
+        this.minSamples = minSamples;
+        this.rejected = Counter.builder("concurrency.rejected")
+                .description("Requisições recusadas por exceder o limite adaptativo de simultaneidade")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimiter::limit).register(meterRegistry);
+        Gauge.builder("concurrency.active", inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    /**
+     * Tenta ocupar uma vaga.
+     *
+     * @return Verdadeiro se a requisição pode seguir; nesse caso, release deve ser chamado ao fim.
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        peakInFlight.accumulateAndGet(current + 1, Math::max);
+        return true;
+    }
+
+    /**
+     * Libera a vaga e registra a latência da requisição.
+     *
+     * @param latencyNanos Duração da requisição, em nanossegundos.
+     */
+    public void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        latencySum.add(latencyNanos);
+        latencyCount.increment();
+
+        long start = windowStart.get();
+        long now = System.nanoTime();
+        if (now - start >= windowNanos && latencyCount.sum() >= minSamples && windowStart.compareAndSet(start, now)) {
+            this.update();
+        }
+    }
+
+    /**
+     * Libera a vaga sem registrar latência (requisição que falhou ou continua de forma assíncrona).
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Recalcula o limite ao fim de uma janela. Executado apenas pela thread que encerrou a janela.
+     */
+    private synchronized void update() {
+        long count = latencyCount.sumThenReset();
+        long sum = latencySum.sumThenReset();
+        int peak = peakInFlight.getAndSet(inFlight.get());
+        if (count == 0) {
+            return;
+        }
+        double shortLatency = (double) sum / count;
+        longLatency = longLatency == 0 ? shortLatency : longLatency + (shortLatency - longLatency) / LONG_WINDOWS;
+        if (longLatency > 2 * shortLatency) {
+            // A carga caiu: aproxima a média de longo prazo da latência atual mais rápido
+            longLatency *= 0.95;
+        }
+
+        double current = limit;
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longLatency / shortLatency));
+        double estimate = current * gradient + Math.sqrt(current);
+        if (estimate > current && peak < current / 2) {
+            // O limite atual nem chegou a ser usado: não há medida que justifique aumentá-lo
+            estimate = current;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, current * (1 - SMOOTHING) + estimate * SMOOTHING));
+    }
+}
@@ -0,0 +1,51 @@
+package com.eventostech.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlConfig {
+
+    /**
+     * Registra o controle de admissão para as rotas da API, antes dos demais filtros da aplicação.
+     *
+     * @return Registro do filtro com as rotas limitadas e o limite adaptativo configurados.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionControlProperties properties,
+                                                                                 MeterRegistry meterRegistry) {
+        AdmissionControlProperties.RateLimit rateLimit = properties.rateLimit();
+        List<AdmissionControlFilter.Route> routes = !rateLimit.enabled() ? List.of() : rateLimit.routes().entrySet().stream()
+                .map(entry -> {
+                    AdmissionControlProperties.Route route = entry.getValue();
+                    return new AdmissionControlFilter.Route(route.method(),
+                            PathPatternParser.defaultInstance.parse(route.path()),
+                            new RateLimiter(entry.getKey(), route.limit(), route.period(), route.burst(),
+                                    rateLimit.maxClients(), meterRegistry));
+                })
+                .sorted(Comparator.comparing(AdmissionControlFilter.Route::pattern, PathPattern.SPECIFICITY_COMPARATOR))
+                .toList();
+
+        AdmissionControlProperties.Concurrency concurrency = properties.concurrency();
+        AdaptiveConcurrencyLimiter concurrencyLimiter = !concurrency.enabled() ? null : new AdaptiveConcurrencyLimiter(
+                concurrency.initialLimit(), concurrency.minLimit(), concurrency.maxLimit(), concurrency.tolerance(),
+                concurrency.window(), concurrency.minSamples(), meterRegistry);
+
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(routes, concurrencyLimiter,
+                        new TrustedProxies(rateLimit.trustedProxies())));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
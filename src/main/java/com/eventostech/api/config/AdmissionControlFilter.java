@@ -0,0 +1,92 @@
+package com.eventostech.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controle de admissão das requisições da API, aplicado antes de qualquer processamento (inclusive da
+ * leitura de uploads multipart): primeiro o limite por cliente da rota (429 com Retry-After), depois o
+ * limite adaptativo de requisições simultâneas (503). Requisições que continuam de forma assíncrona
+ * (exportação, long-polling de alterações) liberam a vaga ao sair do filtro e não entram na medição
+ * de latência, que seria dominada pelo tempo de espera delas.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    /**
+     * Rota com limite por cliente.
+     */
+    record Route(String method, PathPattern pattern, RateLimiter limiter) {
+    }
+
+    private final List<Route> routes; // Da mais específica para a mais genérica
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter; // Nulo se desativado
+    private final TrustedProxies trustedProxies; // Proxies cujo X-Forwarded-For identifica o cliente
+
+    AdmissionControlFilter(List<Route> routes, AdaptiveConcurrencyLimiter concurrencyLimiter, TrustedProxies trustedProxies) {
+        this.routes = routes;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.trustedProxies = trustedProxies;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Route route = this.match(request);
+        if (route != null) {
+            String client = trustedProxies.clientAddress(request.getRemoteAddr(), request.getHeader("X-Forwarded-For"));
+            long waitNanos = route.limiter().tryAcquire(client);
+            if (waitNanos > 0) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+                response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Limite de requisições atingido");
+                return;
+            }
+        }
+
+        if (concurrencyLimiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Servidor sobrecarregado");
+            return;
+        }
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = !request.isAsyncStarted();
+        } finally {
+            if (completed) {
+                concurrencyLimiter.release(System.nanoTime() - start);
+            } else {
+                concurrencyLimiter.release();
+            }
+        }
+    }
+
+    private Route match(HttpServletRequest request) {
+        if (routes.isEmpty()) {
+            return null;
+        }
+        PathContainer path = PathContainer.parsePath(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        for (Route route : routes) {
+            if (route.method().equalsIgnoreCase(request.getMethod()) && route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+}
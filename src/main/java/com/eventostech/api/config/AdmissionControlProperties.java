@@ -0,0 +1,48 @@
+package com.eventostech.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuração do controle de admissão de requisições (prefixo "admission").
+ *
+ * @param rateLimit   Limites por cliente de cada rota.
+ * @param concurrency Limite adaptativo de requisições simultâneas da API.
+ */
+@ConfigurationProperties("admission")
+public record AdmissionControlProperties(RateLimit rateLimit, Concurrency concurrency) {
+
+    /**
+     * @param enabled        Se falso, nenhuma rota é limitada por cliente.
+     * @param maxClients     Clientes acompanhados por rota (os menos frequentes são descartados além disso).
+     * @param trustedProxies Faixas (CIDR) dos proxies cujo X-Forwarded-For identifica o cliente.
+     * @param routes         Rotas limitadas, pelo nome usado nas métricas.
+     */
+    public record RateLimit(boolean enabled, long maxClients, List<String> trustedProxies, Map<String, Route> routes) {
+    }
+
+    /**
+     * Rota limitada: até "limit" requisições por "period" de cada cliente, com rajadas de até "burst".
+     *
+     * @param method Método HTTP.
+     * @param path   Padrão do caminho, como declarado no controller (ex.: /api/event/{eventId}).
+     */
+    public record Route(String method, String path, int limit, Duration period, int burst) {
+    }
+
+    /**
+     * @param enabled      Se falso, não há limite de requisições simultâneas.
+     * @param initialLimit Limite inicial, antes das primeiras medições.
+     * @param minLimit     Menor limite admitido.
+     * @param maxLimit     Maior limite admitido.
+     * @param tolerance    Quanto a latência pode subir em relação à média de longo prazo sem reduzir o limite.
+     * @param window       Duração mínima de cada janela de medição.
+     * @param minSamples   Requisições mínimas por janela para recalcular o limite.
+     */
+    public record Concurrency(boolean enabled, int initialLimit, int minLimit, int maxLimit, double tolerance,
+                              Duration window, int minSamples) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.eventostech.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite de chamadas simultâneas a um recurso bloqueante (conexões do banco, conexões do S3).
+ * Com virtual threads o número de requisições em andamento deixa de ser limitado pelo pool do Tomcat,
+ * então é este limite que impede que elas excedam o pool de conexões do recurso. Quem não consegue
+ * vaga espera (a virtual thread fica estacionada, sem ocupar thread de plataforma) até o tempo máximo.
+ * A vaga é reentrante por thread: chamadas aninhadas na mesma thread não consomem uma nova vaga,
+ * evitando que uma thread espere por si mesma.
+ */
+public class Bulkhead {
+
+    /**
+     * Vaga obtida no bulkhead, liberada no fechamento.
+     */
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final String name;
+    private final Semaphore semaphore;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.semaphore = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.waitTimer = Timer.builder("bulkhead.wait").tag("name", name)
+                .description("Tempo de espera por uma vaga no bulkhead")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("bulkhead.rejected").tag("name", name)
+                .description("Chamadas recusadas por exceder o tempo de espera")
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.active", this, bulkhead -> bulkhead.maxConcurrent - bulkhead.semaphore.availablePermits())
+                .tag("name", name).register(meterRegistry);
+        Gauge.builder("bulkhead.queued", semaphore, Semaphore::getQueueLength)
+                .tag("name", name).register(meterRegistry);
+    }
+
+    /**
+     * Obtém uma vaga, esperando até o tempo máximo configurado.
+     *
+     * @return Vaga a ser fechada ao fim da chamada (use try-with-resources).
+     * @throws BulkheadFullException Se não houver vaga dentro do tempo máximo ou a espera for interrompida.
+     */
+    public Permit acquire() {
+        int[] held = depth.get();
+        if (held[0] > 0) {
+            held[0]++;
+            return this.permit(held);
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            throw new BulkheadFullException("Limite de chamadas simultâneas atingido: " + name);
+        }
+
+        held[0] = 1;
+        return this.permit(held);
+    }
+
+    /**
+     * Vaga da thread, externa ou aninhada. Cada fechamento conta uma única vez, e o semáforo só é
+     * liberado quando a última vaga aberta na thread é fechada, em qualquer ordem de fechamento.
+     */
+    private Permit permit(int[] held) {
+        return new Permit() {
+            private boolean released;
+
+            @Override
+            public void close() {
+                if (!released) {
+                    released = true;
+                    if (--held[0] == 0) {
+                        semaphore.release();
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.eventostech.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class BulkheadConfig {
+
+    /**
+     * Bulkhead do banco de dados, dimensionado pelo pool de conexões do Hikari.
+     *
+     * @return Bulkhead usado pelo DataSource da aplicação.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Bulkhead databaseBulkhead(MeterRegistry meterRegistry,
+                                     @Value("${bulkhead.database.max-concurrent}") int maxConcurrent,
+                                     @Value("${bulkhead.database.max-wait}") Duration maxWait) {
+        return new Bulkhead("database", maxConcurrent, maxWait, meterRegistry);
+    }
+
+    /**
+     * Envolve o DataSource da aplicação no bulkhead do banco. Só é necessário com virtual threads
+     * (spring.threads.virtual.enabled): com threads de plataforma, o pool do Tomcat já limita as
+     * requisições simultâneas e o Hikari enfileira o restante.
+     * O bulkhead é resolvido sob demanda para não antecipar a criação dos beans de métricas.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public static BeanPostProcessor databaseBulkheadPostProcessor(@Qualifier("databaseBulkhead") ObjectProvider<Bulkhead> bulkhead) {
+        return new DatabaseBulkheadPostProcessor(bulkhead);
+    }
+
+    /**
+     * Executa antes dos demais pós-processadores do DataSource, para que o bulkhead envolva o pool do
+     * banco primário (e não o roteamento para réplicas, que têm pools próprios).
+     */
+    private static final class DatabaseBulkheadPostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+        private final ObjectProvider<Bulkhead> bulkhead;
+
+        DatabaseBulkheadPostProcessor(ObjectProvider<Bulkhead> bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)
+                    && "dataSource".equals(beanName)) {
+                return new BulkheadDataSource(dataSource, bulkhead.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.eventostech.api.config;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource que só entrega uma conexão após obter vaga no bulkhead do banco, liberando-a quando a
+ * conexão é devolvida. Vale para todo acesso ao banco (JPA, JdbcTemplate, Flyway), sem depender de
+ * qual camada abriu a conexão.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Bulkhead bulkhead;
+
+    public BulkheadDataSource(DataSource target, Bulkhead bulkhead) {
+        super(target);
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Bulkhead.Permit permit = bulkhead.acquire();
+        try {
+            return this.proxy(super.getConnection(), permit);
+        } catch (SQLException | RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Bulkhead.Permit permit = bulkhead.acquire();
+        try {
+            return this.proxy(super.getConnection(username, password), permit);
+        } catch (SQLException | RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+    }
+
+    private Connection proxy(Connection target, Bulkhead.Permit permit) {
+        InvocationHandler handler = (proxy, method, args) -> this.invoke(target, permit, method, args);
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, handler);
+    }
+
+    private Object invoke(Connection target, Bulkhead.Permit permit, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "getTargetConnection":
+                return target;
+            case "close":
+                try {
+                    target.close();
+                } finally {
+                    permit.close();
+                }
+                return null;
+            default:
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.eventostech.api.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class CborConfig {
+
+    /**
+     * Conversor das respostas em CBOR (JSON binário), usado quando o cliente envia
+     * Accept: application/cbor. Usa a mesma configuração do Jackson das respostas em JSON, então os
+     * dois formatos têm os mesmos campos e valores.
+     *
+     * @return Conversor CBOR registrado junto aos conversores padrão do Spring MVC.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,62 @@
+package com.eventostech.api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite de requisições por cliente (token bucket no formato GCRA). O estado de cada cliente é um
+ * único AtomicLong com o instante teórico de chegada da próxima requisição, atualizado por CAS, sem
+ * locks. Um cliente pode fazer até "burst" requisições de uma vez e, depois, uma a cada período/limite.
+ * Os clientes ficam em um cache com tamanho máximo; a entrada de um cliente ocioso expira assim que o
+ * balde dele estaria cheio de novo, então a expiração nunca devolve permissões que ele não teria.
+ */
+public class RateLimiter {
+
+    private final long emissionNanos; // Intervalo entre permissões no ritmo sustentado
+    private final long toleranceNanos; // Quanto o instante teórico pode estar à frente do atual (rajada)
+    private final Cache<String, AtomicLong> clients;
+    private final Counter rejected;
+
+    public RateLimiter(String route, int limit, Duration period, int burst, long maxClients, MeterRegistry meterRegistry) {
+        this.emissionNanos = period.toNanos() / limit;
+        this.toleranceNanos = emissionNanos * burst;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(toleranceNanos, TimeUnit.NANOSECONDS)
+                .build();
+        this.rejected = Counter.builder("ratelimit.rejected").tag("route", route)
+                .description("Requisições recusadas por exceder o limite do cliente")
+                .register(meterRegistry);
+        Gauge.builder("ratelimit.clients", clients, Cache::estimatedSize)
+                .tag("route", route).register(meterRegistry);
+    }
+
+    /**
+     * Tenta consumir uma permissão do cliente.
+     *
+     * @param client Identificação do cliente.
+     * @return Zero se a requisição foi permitida, ou o tempo (em nanossegundos) até a próxima permissão.
+     */
+    public long tryAcquire(String client) {
+        AtomicLong state = clients.get(client, key -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = System.nanoTime();
+            long stored = state.get();
+            long next = Math.max(stored, now) + emissionNanos;
+            if (next - now > toleranceNanos) {
+                rejected.increment();
+                return next - toleranceNanos - now;
+            }
+            if (state.compareAndSet(stored, next)) {
+                return 0;
+            }
+        }
+    }
+}
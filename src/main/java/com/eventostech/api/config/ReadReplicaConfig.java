@@ -0,0 +1,92 @@
+package com.eventostech.api.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Roteamento das transações somente leitura (@Transactional(readOnly = true)) para réplicas de
+ * leitura, ativo quando datasource.replicas.urls é informado.
+ * O DataSource da aplicação passa a ser um proxy que só obtém a conexão física no primeiro comando:
+ * transações que não chegam a consultar o banco (ex.: leituras servidas dos snapshots em memória)
+ * não ocupam conexão, e no primeiro comando a transação já marcou a conexão como somente leitura,
+ * o que permite escolher entre réplica e primário.
+ */
+@Configuration
+public class ReadReplicaConfig {
+
+    @Bean
+    @Conditional(ReplicasConfigured.class)
+    public ReadReplicas readReplicas(@Value("${datasource.replicas.urls}") List<String> urls,
+                                     @Value("${datasource.replicas.username}") String username,
+                                     @Value("${datasource.replicas.password}") String password,
+                                     @Value("${datasource.replicas.pool-size}") int poolSize,
+                                     @Value("${datasource.replicas.connection-timeout}") Duration connectionTimeout,
+                                     @Value("${datasource.replicas.max-lag}") Duration maxLag,
+                                     @Value("${datasource.replicas.lag-query}") String lagQuery) {
+        return new ReadReplicas(urls, username, password, poolSize, connectionTimeout, maxLag, lagQuery);
+    }
+
+    /**
+     * Envolve o DataSource primário no proxy de conexões sob demanda, com as réplicas (se houver) para
+     * as conexões somente leitura. Executa depois do bulkhead, que continua limitando apenas as
+     * conexões do primário.
+     */
+    @Bean
+    public static BeanPostProcessor readReplicaPostProcessor(ObjectProvider<ReadReplicas> replicas) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource primary && !(bean instanceof LazyConnectionDataSourceProxy)
+                        && "dataSource".equals(beanName)) {
+                    LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(new DelegatingDataSource(primary) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            ReadYourWrites.markWrite();
+                            return super.getConnection();
+                        }
+                    });
+                    replicas.ifAvailable(readReplicas ->
+                            routing.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, readReplicas)));
+                    return routing;
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Delimita cada requisição para a garantia de ler as próprias escritas.
+     */
+    @Bean
+    @Conditional(ReplicasConfigured.class)
+    public ReadYourWritesFilter readYourWritesFilter(@Value("${datasource.replicas.max-lag}") Duration maxLag) {
+        return new ReadYourWritesFilter(maxLag);
+    }
+
+    /**
+     * Verdadeira quando ao menos uma réplica é informada em datasource.replicas.urls.
+     */
+    static class ReplicasConfigured implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return StringUtils.hasText(context.getEnvironment().getProperty("datasource.replicas.urls"));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.eventostech.api.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pools das réplicas de leitura e seu estado. O atraso de replicação de cada réplica é medido
+ * periodicamente; réplicas inacessíveis ou atrasadas além do limite deixam de receber leituras até
+ * a próxima verificação bem-sucedida. As leituras são distribuídas entre as réplicas em rodízio.
+ */
+@Slf4j
+public class ReadReplicas implements MeterBinder, DisposableBean {
+
+    /**
+     * Réplica de leitura.
+     */
+    static final class Replica {
+
+        final String name;
+        final HikariDataSource pool;
+        volatile boolean reachable = true;
+        volatile long lagMillis;
+
+        Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+    }
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile Counter replicaReads; // Nulos até o registro das métricas
+    private volatile Counter primaryReads;
+
+    /**
+     * @param urls              URLs JDBC das réplicas.
+     * @param username          Usuário das conexões.
+     * @param password          Senha das conexões.
+     * @param poolSize          Tamanho do pool de cada réplica.
+     * @param connectionTimeout Espera máxima por uma conexão da réplica antes de recorrer ao primário.
+     * @param maxLag            Maior atraso de replicação aceito para leituras.
+     * @param lagQuery          Consulta que devolve o atraso da réplica em milissegundos.
+     */
+    public ReadReplicas(List<String> urls, String username, String password, int poolSize,
+                        Duration connectionTimeout, Duration maxLag, String lagQuery) {
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(urls.get(i).trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(poolSize);
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1); // Réplica fora do ar não impede a inicialização
+            replicas.add(new Replica("replica-" + i, new HikariDataSource(config)));
+        }
+    }
+
+    /**
+     * Réplicas aptas a receber leituras, começando pela próxima do rodízio.
+     *
+     * @return Réplicas acessíveis e dentro do limite de atraso.
+     */
+    List<Replica> candidates() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        List<Replica> candidates = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.reachable && replica.lagMillis <= maxLag.toMillis()) {
+                candidates.add(replica);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Tira a réplica do rodízio após uma falha de conexão, até a próxima verificação.
+     */
+    void markUnreachable(Replica replica, SQLException cause) {
+        if (replica.reachable) {
+            log.warn("Réplica {} indisponível, leituras seguem para o primário", replica.name, cause);
+        }
+        replica.reachable = false;
+    }
+
+    void countRead(boolean fromReplica) {
+        Counter counter = fromReplica ? replicaReads : primaryReads;
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * Mede o atraso de replicação de cada réplica.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replicas.check-interval}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(lagQuery)) {
+                replica.lagMillis = result.next() ? result.getLong(1) : 0;
+                replica.reachable = true;
+            } catch (SQLException e) {
+                this.markUnreachable(replica, e);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.reachable ? r.lagMillis : Double.NaN)
+                    .description("Atraso de replicação medido na última verificação (ms)")
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+        replicaReads = Counter.builder("datasource.reads").tag("target", "replica")
+                .description("Conexões somente leitura entregues, por destino")
+                .register(registry);
+        primaryReads = Counter.builder("datasource.reads").tag("target", "primary")
+                .description("Conexões somente leitura entregues, por destino")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+}
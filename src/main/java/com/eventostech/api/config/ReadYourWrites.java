@@ -0,0 +1,107 @@
+package com.eventostech.api.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Garante que uma requisição leia o que ela mesma gravou: depois que a requisição obtém uma conexão
+ * de escrita no primário, as leituras seguintes da mesma requisição também vão para o primário,
+ * mesmo que uma réplica esteja disponível (a réplica pode ainda não ter recebido a alteração).
+ * Requisições seguintes do mesmo cliente também leem do primário enquanto a escrita pode não ter
+ * chegado às réplicas (ver {@link ReadYourWritesFilter}).
+ * O escopo é aberto e fechado pelo filtro de requisições; fora dele (tarefas agendadas, threads de
+ * processamento) nada é registrado.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Request> REQUEST = new ThreadLocal<>();
+    private static final ThreadLocal<int[]> PRIMARY = ThreadLocal.withInitial(() -> new int[1]); // Leituras aninhadas em fromPrimary
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * Estado da requisição em andamento na thread.
+     */
+    private static final class Request {
+        private final boolean recentWrite; // O cliente escreveu há menos que o atraso máximo das réplicas
+        private final Runnable onFirstWrite;
+        private boolean written; // Houve escrita na requisição
+
+        Request(boolean recentWrite, Runnable onFirstWrite) {
+            this.recentWrite = recentWrite;
+            this.onFirstWrite = onFirstWrite;
+        }
+    }
+
+    /**
+     * Abre o escopo da requisição na thread atual.
+     */
+    public static void begin() {
+        begin(false, () -> {
+        });
+    }
+
+    /**
+     * Abre o escopo da requisição na thread atual.
+     *
+     * @param recentWrite  Se o cliente escreveu recentemente (todas as leituras vão para o primário).
+     * @param onFirstWrite Executado na primeira escrita da requisição.
+     */
+    public static void begin(boolean recentWrite, Runnable onFirstWrite) {
+        REQUEST.set(new Request(recentWrite, onFirstWrite));
+    }
+
+    /**
+     * Fecha o escopo da requisição na thread atual.
+     */
+    public static void end() {
+        REQUEST.remove();
+    }
+
+    /**
+     * Registra que a requisição atual obteve uma conexão de escrita. Conexões obtidas dentro de
+     * {@link #fromPrimary(Supplier)} são apenas leituras e não contam.
+     */
+    public static void markWrite() {
+        Request request = REQUEST.get();
+        if (request != null && !request.written && PRIMARY.get()[0] == 0) {
+            request.written = true;
+            request.onFirstWrite.run();
+        }
+    }
+
+    /**
+     * Indica se a requisição atual já escreveu no primário.
+     */
+    public static boolean hasWritten() {
+        Request request = REQUEST.get();
+        return request != null && request.written;
+    }
+
+    /**
+     * Indica se as leituras da thread atual devem ir para o primário: a requisição (ou uma requisição
+     * recente do mesmo cliente) escreveu, ou a leitura está dentro de {@link #fromPrimary(Supplier)}.
+     */
+    public static boolean readsFromPrimary() {
+        Request request = REQUEST.get();
+        return PRIMARY.get()[0] > 0 || (request != null && (request.written || request.recentWrite));
+    }
+
+    /**
+     * Executa uma leitura no primário, mesmo em transação somente leitura (ou fora de transação, sem
+     * registrar escrita). Usado pelas cargas de caches e índices: uma réplica atrasada faria o cache guardar a versão anterior de um dado recém-alterado
+     * até a próxima alteração.
+     *
+     * @param reader Leitura a executar.
+     * @return Resultado da leitura.
+     */
+    public static <T> T fromPrimary(Supplier<T> reader) {
+        int[] depth = PRIMARY.get();
+        depth[0]++;
+        try {
+            return reader.get();
+        } finally {
+            depth[0]--;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.eventostech.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Delimita cada requisição para a garantia de ler as próprias escritas. Quando a requisição escreve,
+ * a resposta leva um cookie com o instante até o qual a escrita pode ainda não ter chegado às réplicas
+ * (agora + atraso máximo aceito); enquanto ele não passar, as requisições do mesmo cliente leem do
+ * primário, em qualquer nó. Um cookie alterado pelo cliente só pode desviar as leituras dele mesmo para
+ * o primário, e por no máximo o atraso máximo.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "rw-until";
+
+    private final Duration maxLag;
+
+    public ReadYourWritesFilter(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        ReadYourWrites.begin(this.recentWrite(request), () -> this.rememberWrite(response));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.end();
+        }
+    }
+
+    private boolean recentWrite(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE);
+        if (cookie == null) {
+            return false;
+        }
+        try {
+            long until = Long.parseLong(cookie.getValue());
+            long now = System.currentTimeMillis();
+            return until > now && until <= now + maxLag.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void rememberWrite(HttpServletResponse response) {
+        if (response.isCommitted()) {
+            return;
+        }
+        Cookie cookie = new Cookie(COOKIE, Long.toString(System.currentTimeMillis() + maxLag.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, (maxLag.toMillis() + 999) / 1000));
+        response.addCookie(cookie);
+    }
+}
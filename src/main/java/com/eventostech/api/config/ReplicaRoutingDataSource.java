@@ -0,0 +1,44 @@
+package com.eventostech.api.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource das conexões somente leitura: entrega uma conexão de réplica apta ou, se nenhuma estiver
+ * disponível (ou se a leitura precisa ver escritas recentes, ver {@link ReadYourWrites}), uma conexão do primário.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReadReplicas replicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReadReplicas replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadYourWrites.readsFromPrimary()) {
+            for (ReadReplicas.Replica replica : replicas.candidates()) {
+                try {
+                    Connection connection = replica.pool.getConnection();
+                    replicas.countRead(true);
+                    return connection;
+                } catch (SQLException e) {
+                    replicas.markUnreachable(replica, e);
+                }
+            }
+        }
+        replicas.countRead(false);
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Conexões somente leitura usam as credenciais configuradas");
+    }
+}
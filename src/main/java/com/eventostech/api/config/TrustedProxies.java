@@ -0,0 +1,107 @@
+package com.eventostech.api.config;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Faixas de endereços (CIDR) dos proxies confiáveis à frente da API, usadas para identificar o cliente
+ * pelo X-Forwarded-For: o cabeçalho só é considerado quando a conexão vem de um desses proxies, e o
+ * cliente é o primeiro endereço, da direita para a esquerda, que não pertence a eles. Entradas
+ * acrescentadas pelo próprio cliente ficam à esquerda e nunca são usadas.
+ */
+final class TrustedProxies {
+
+    private static final Pattern IP_LITERAL = Pattern.compile("[0-9a-fA-F:.]+"); // Evita resolução de nomes
+
+    private final List<Range> ranges;
+
+    TrustedProxies(List<String> cidrs) {
+        this.ranges = cidrs.stream().map(String::trim).filter(cidr -> !cidr.isEmpty()).map(Range::parse).toList();
+    }
+
+    /**
+     * Identifica o cliente da requisição.
+     *
+     * @param remoteAddr   Endereço da conexão.
+     * @param forwardedFor Valor do cabeçalho X-Forwarded-For (pode ser nulo).
+     * @return Endereço do cliente.
+     */
+    String clientAddress(String remoteAddr, String forwardedFor) {
+        if (forwardedFor == null || forwardedFor.isBlank() || !this.contains(remoteAddr)) {
+            return remoteAddr;
+        }
+        String[] hops = forwardedFor.split(",");
+        String client = remoteAddr;
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (parse(hop) == null) {
+                break; // Entrada inválida: o restante da lista não é confiável
+            }
+            client = hop;
+            if (!this.contains(hop)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    boolean contains(String address) {
+        byte[] bytes = parse(address);
+        if (bytes == null) {
+            return false;
+        }
+        for (Range range : ranges) {
+            if (range.contains(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] parse(String address) {
+        if (address == null || address.isEmpty() || !IP_LITERAL.matcher(address).matches()) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(address).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Faixa de endereços: prefixo e quantidade de bits significativos.
+     */
+    private record Range(byte[] prefix, int bits) {
+
+        static Range parse(String cidr) {
+            int slash = cidr.indexOf('/');
+            byte[] prefix = TrustedProxies.parse(slash < 0 ? cidr : cidr.substring(0, slash));
+            if (prefix == null) {
+                throw new IllegalArgumentException("Faixa de proxy inválida: " + cidr);
+            }
+            int bits = slash < 0 ? prefix.length * 8 : Integer.parseInt(cidr.substring(slash + 1));
+            return new Range(prefix, bits);
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != prefix.length) {
+                return false;
+            }
+            int full = bits / 8;
+            for (int i = 0; i < full; i++) {
+                if (address[i] != prefix[i]) {
+                    return false;
+                }
+            }
+            int rest = bits % 8;
+            if (rest == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - rest);
+            return (address[full] & mask) == (prefix[full] & mask);
+        }
+    }
+}
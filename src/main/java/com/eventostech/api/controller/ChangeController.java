@@ -0,0 +1,42 @@
+package com.eventostech.api.controller;
+
+import com.eventostech.api.domain.change.ChangeBatchDTO;
+import com.eventostech.api.service.ChangeRelay;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+
+    private static final int MAX_LIMIT = 1000; // Maior lote devolvido por leitura
+    private static final int MAX_WAIT_SECONDS = 60; // Maior espera aceita no long-polling
+
+    @Autowired
+    private ChangeRelay changeRelay; // Fluxo de alterações publicadas pela outbox
+
+    /**
+     * Endpoint para consumir as alterações de eventos e cupons a partir de uma sequência. Sem
+     * alterações novas, a resposta aguarda até "wait" segundos por uma publicação (long-polling).
+     * O consumidor deve guardar "next" e enviá-lo como "after" na leitura seguinte.
+     *
+     * @param after Última sequência já processada (padrão é 0: desde a alteração mais antiga retida).
+     * @param limit Máximo de alterações por resposta (padrão é 100, até 1000).
+     * @param wait  Espera máxima em segundos quando não há alterações (padrão é 25, até 60; 0 para não aguardar).
+     * @return Lote de alterações em ordem de sequência e a sequência da próxima leitura.
+     */
+    @GetMapping
+    public CompletableFuture<ChangeBatchDTO> getChanges(@RequestParam(defaultValue = "0") long after,
+                                                        @RequestParam(defaultValue = "100") int limit,
+                                                        @RequestParam(defaultValue = "25") int wait) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Duration timeout = Duration.ofSeconds(Math.max(0, Math.min(wait, MAX_WAIT_SECONDS)));
+        return changeRelay.poll(Math.max(0, after), size, timeout);
+    }
+}
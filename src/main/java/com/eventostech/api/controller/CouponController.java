@@ -1,12 +1,20 @@
 package com.eventostech.api.controller;
 
+import com.eventostech.api.domain.bulk.BulkImportReportDTO;
 import com.eventostech.api.domain.coupon.Coupon;
+import com.eventostech.api.domain.coupon.CouponRedeemRequestDTO;
+import com.eventostech.api.domain.coupon.CouponRedemptionDTO;
 import com.eventostech.api.domain.coupon.CouponRequestDTO;
+import com.eventostech.api.domain.coupon.CouponValidationDTO;
+import com.eventostech.api.service.BulkImportService;
 import com.eventostech.api.service.CouponService;
+import com.eventostech.api.service.ImportFormat;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.UUID;
 
 @RestController
@@ -16,16 +24,63 @@ public class CouponController {
     @Autowired
     private CouponService couponService; // Serviço responsável por operações relacionadas a cupons
 
+    @Autowired
+    private BulkImportService bulkImportService; // Serviço de importação em lote
+
     /**
      * Endpoint para adicionar um cupom a um evento específico.
      *
      * @param eventId ID do evento ao qual o cupom será adicionado (no path da URL).
      * @param data    Dados do cupom a serem adicionados (no corpo da requisição).
-     * @return ResponseEntity com o cupom adicionado.
+     * @return ResponseEntity com o cupom adicionado; 409 se o código já existir no evento.
      */
     @PostMapping("/event/{eventId}")
     public ResponseEntity<Coupon> addCouponsToEvent(@PathVariable UUID eventId, @RequestBody CouponRequestDTO data) {
         Coupon coupon = couponService.addCouponToEvent(eventId, data);
         return ResponseEntity.ok(coupon);
     }
+
+    /**
+     * Endpoint para verificar se um cupom pode ser resgatado, sem registrar uso.
+     *
+     * @param eventId ID do evento (no path da URL).
+     * @param code    Código do cupom (no path da URL).
+     * @param userId  Usuário que pretende resgatar (opcional).
+     * @return ResponseEntity com os dados do cupom e se ele pode ser resgatado.
+     */
+    @GetMapping("/event/{eventId}/{code}")
+    public ResponseEntity<CouponValidationDTO> validateCoupon(@PathVariable UUID eventId, @PathVariable String code,
+                                                              @RequestParam(required = false) String userId) {
+        CouponValidationDTO validation = couponService.validateCoupon(eventId, code, userId);
+        return ResponseEntity.ok(validation);
+    }
+
+    /**
+     * Endpoint para resgatar um cupom, registrando um uso.
+     *
+     * @param eventId ID do evento (no path da URL).
+     * @param code    Código do cupom (no path da URL).
+     * @param data    Usuário que resgata (no corpo da requisição).
+     * @return ResponseEntity com os dados do resgate; 409 se o cupom não puder ser resgatado.
+     */
+    @PostMapping("/event/{eventId}/{code}/redeem")
+    public ResponseEntity<CouponRedemptionDTO> redeemCoupon(@PathVariable UUID eventId, @PathVariable String code,
+                                                            @RequestBody CouponRedeemRequestDTO data) {
+        CouponRedemptionDTO redemption = couponService.redeemCoupon(eventId, code, data.userId());
+        return ResponseEntity.ok(redemption);
+    }
+
+    /**
+     * Endpoint para importar cupons em lote, em NDJSON ou CSV com as colunas eventId, code, discount e valid.
+     *
+     * @param contentType Tipo do corpo (application/x-ndjson ou text/csv).
+     * @param body        Conteúdo a ser importado.
+     * @return ResponseEntity com o relatório da importação, incluindo os erros por linha.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<BulkImportReportDTO> importCoupons(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                            InputStream body) {
+        BulkImportReportDTO report = bulkImportService.importCoupons(body, ImportFormat.fromContentType(contentType));
+        return ResponseEntity.ok(report);
+    }
 }
@@ -1,27 +1,65 @@
 package com.eventostech.api.controller;
 
+import com.eventostech.api.domain.bulk.BulkImportReportDTO;
 import com.eventostech.api.domain.event.Event;
 import com.eventostech.api.domain.event.EventDetailsDTO;
+import com.eventostech.api.domain.event.EventDiscoveryDTO;
+import com.eventostech.api.domain.event.EventField;
+import com.eventostech.api.domain.event.EventImageStatusDTO;
+import com.eventostech.api.domain.event.EventPageDTO;
 import com.eventostech.api.domain.event.EventResponseDTO;
 import com.eventostech.api.domain.event.EventsRequestDTO;
+import com.eventostech.api.domain.event.ImageUploadConfirmDTO;
+import com.eventostech.api.domain.event.ImageUploadRequestDTO;
+import com.eventostech.api.domain.event.ImageUploadUrlDTO;
+import com.eventostech.api.service.BulkImportService;
+import com.eventostech.api.service.EventExportService;
 import com.eventostech.api.service.EventService;
+import com.eventostech.api.service.ImportFormat;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/event")
 public class EventController {
 
+    // Políticas de cache por endpoint: listagens podem ser reaproveitadas por alguns segundos;
+    // detalhes (cupons) sempre são revalidados, o que é barato graças ao 304.
+    private static final CacheControl UPCOMING_CACHE = CacheControl.maxAge(30, TimeUnit.SECONDS).cachePublic();
+    private static final CacheControl QUERY_CACHE = CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic();
+    private static final CacheControl DETAILS_CACHE = CacheControl.noCache();
+
     @Autowired
     private EventService eventService; // Serviço responsável por operações relacionadas a eventos
 
+    @Autowired
+    private BulkImportService bulkImportService; // Serviço de importação em lote
+
+    @Autowired
+    private EventExportService eventExportService; // Serviço de exportação do catálogo
+
     /**
      * Endpoint para criar um novo evento.
      *
@@ -49,6 +87,97 @@ public class EventController {
         return ResponseEntity.ok(newEvent);
     }
 
+    /**
+     * Endpoint para importar eventos em lote. O corpo é lido em streaming: NDJSON (um evento por linha)
+     * ou CSV com cabeçalho, com as colunas id (opcional), title, description, date, city, state, remote,
+     * eventUrl e imgUrl (opcional).
+     *
+     * @param contentType Tipo do corpo (application/x-ndjson ou text/csv).
+     * @param body        Conteúdo a ser importado.
+     * @return ResponseEntity com o relatório da importação, incluindo os erros por linha.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<BulkImportReportDTO> importEvents(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                           InputStream body) {
+        BulkImportReportDTO report = this.bulkImportService.importEvents(body, ImportFormat.fromContentType(contentType));
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * Endpoint para exportar o catálogo de eventos, com endereço e cupons válidos, no mesmo formato da
+     * importação. A resposta é escrita em streaming a partir do banco, sem montar a lista em memória.
+     * O cabeçalho X-Export-Watermark traz o valor a ser informado em "since" na próxima exportação,
+     * que devolverá apenas os eventos alterados desde esta.
+     *
+     * @param format Formato da saída (NDJSON ou CSV; padrão é NDJSON).
+     * @param since  Watermark da exportação anterior, em epoch millis (padrão é 0: catálogo inteiro).
+     * @return ResponseEntity com o corpo em streaming.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEvents(@RequestParam(defaultValue = "NDJSON") ImportFormat format,
+                                                              @RequestParam(defaultValue = "0") long since) {
+        long until = this.eventExportService.watermark();
+        StreamingResponseBody body = output -> this.eventExportService.export(format, since, until, output);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, format.contentType() + ";charset=UTF-8")
+                .header("X-Export-Watermark", Long.toString(Math.max(since, until)))
+                .body(body);
+    }
+
+    /**
+     * Endpoint para obter os detalhes de um evento, incluindo os cupons válidos.
+     *
+     * @param eventId ID do evento (no path da URL).
+     * @return ResponseEntity com os detalhes do evento.
+     */
+    @GetMapping("/{eventId}")
+    public ResponseEntity<EventDetailsDTO> getEventDetails(@PathVariable UUID eventId, ServletWebRequest request) {
+        return this.conditionalGet(request, this.eventService.getEventDetailsETag(eventId), DETAILS_CACHE,
+                () -> this.eventService.getEventDetails(eventId));
+    }
+
+    /**
+     * Endpoint para consultar a situação do upload da imagem de um evento.
+     *
+     * @param eventId ID do evento (no path da URL).
+     * @return ResponseEntity com o status da imagem e a URL, quando disponível.
+     */
+    @GetMapping("/{eventId}/image")
+    public ResponseEntity<EventImageStatusDTO> getImageStatus(@PathVariable UUID eventId) {
+        EventImageStatusDTO status = this.eventService.getImageStatus(eventId);
+        return ResponseEntity.ok(status);
+    }
+
+    /**
+     * Endpoint para iniciar o envio direto da imagem de um evento ao armazenamento, sem passar pela API.
+     * O cliente deve fazer o PUT na URL retornada, com os cabeçalhos indicados, e depois confirmar o envio.
+     * O cadastro com multipart continua disponível como alternativa.
+     *
+     * @param eventId ID do evento (no path da URL).
+     * @param request Tipo e tamanho da imagem.
+     * @return ResponseEntity com a chave do objeto, a URL pré-assinada e sua expiração.
+     */
+    @PostMapping("/{eventId}/image/upload-url")
+    public ResponseEntity<ImageUploadUrlDTO> createImageUpload(@PathVariable UUID eventId,
+                                                               @RequestBody ImageUploadRequestDTO request) {
+        ImageUploadUrlDTO upload = this.eventService.createImageUpload(eventId, request);
+        return ResponseEntity.ok(upload);
+    }
+
+    /**
+     * Endpoint para confirmar o envio direto da imagem de um evento, validando o objeto enviado.
+     *
+     * @param eventId ID do evento (no path da URL).
+     * @param request Chave do objeto retornada ao iniciar o envio.
+     * @return ResponseEntity com o status da imagem e a URL.
+     */
+    @PostMapping("/{eventId}/image/confirm")
+    public ResponseEntity<EventImageStatusDTO> confirmImageUpload(@PathVariable UUID eventId,
+                                                                  @RequestBody ImageUploadConfirmDTO request) {
+        EventImageStatusDTO status = this.eventService.confirmImageUpload(eventId, request.key());
+        return ResponseEntity.ok(status);
+    }
+
     /**
      * Endpoint para obter todos os eventos paginados.
      *
@@ -58,9 +187,44 @@ public class EventController {
      */
     @GetMapping
     public ResponseEntity<List<EventResponseDTO>> getEvents(@RequestParam(defaultValue = "0") int page,
-                                                            @RequestParam(defaultValue = "10") int size) {
-        List<EventResponseDTO> allEvents = this.eventService.getUpcomingEvents(page, size);
-        return ResponseEntity.ok(allEvents);
+                                                            @RequestParam(defaultValue = "10") int size,
+                                                            ServletWebRequest request) {
+        return this.conditionalUpcoming(request, () -> this.eventService.getUpcomingEvents(page, size));
+    }
+
+    /**
+     * Endpoint para obter eventos futuros paginados apenas com os campos selecionados
+     * (ex.: fields=id,title,date,city,thumbUrl), para listagens que não exibem o evento completo.
+     * Selecionado quando o parâmetro fields está presente (e cursor não).
+     *
+     * @param fields Campos do evento a retornar, separados por vírgula.
+     * @param page   Número da página solicitada (padrão é 0).
+     * @param size   Tamanho da página (padrão é 10).
+     * @return ResponseEntity com os campos selecionados de cada evento.
+     */
+    @GetMapping(params = {"fields", "!cursor"})
+    public ResponseEntity<List<Map<String, Object>>> getEventFields(@RequestParam String fields,
+                                                                    @RequestParam(defaultValue = "0") int page,
+                                                                    @RequestParam(defaultValue = "10") int size,
+                                                                    ServletWebRequest request) {
+        Set<EventField> selected = this.selectedFields(fields);
+        return this.conditionalUpcoming(request,
+                () -> this.eventService.getUpcomingEvents(page, size, selected));
+    }
+
+    /**
+     * Endpoint para obter eventos futuros com paginação por cursor.
+     * Selecionado quando o parâmetro cursor está presente (vazio para a primeira página).
+     *
+     * @param cursor Token de continuação retornado na página anterior.
+     * @param size   Tamanho da página (padrão é 10).
+     * @return ResponseEntity com os eventos da página e o token da próxima página.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<EventPageDTO> getEventsByCursor(@RequestParam String cursor,
+                                                          @RequestParam(defaultValue = "10") int size,
+                                                          ServletWebRequest request) {
+        return this.conditionalUpcoming(request, () -> this.eventService.getUpcomingEvents(cursor, size));
     }
 
     /**
@@ -80,20 +244,173 @@ public class EventController {
                                                                     @RequestParam String city,
                                                                     @RequestParam String uf,
                                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date startDate,
-                                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date endDate) {
-        List<EventResponseDTO> events = eventService.getFilteredEvents(page, size, city, uf, startDate, endDate);
-        return ResponseEntity.ok(events);
+                                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date endDate,
+                                                                    ServletWebRequest request) {
+        return this.conditionalGet(request, this.eventService.getEventsETag(), QUERY_CACHE,
+                () -> eventService.getFilteredEvents(page, size, city, uf, startDate, endDate));
+    }
+
+    /**
+     * Endpoint para obter eventos filtrados apenas com os campos selecionados.
+     * Selecionado quando o parâmetro fields está presente (e cursor não).
+     *
+     * @param fields    Campos do evento a retornar, separados por vírgula.
+     * @param page      Número da página solicitada (padrão é 0).
+     * @param size      Tamanho da página (padrão é 10).
+     * @param city      Cidade para filtro.
+     * @param uf        Estado para filtro.
+     * @param startDate Data de início para filtro (formato ISO Date).
+     * @param endDate   Data de fim para filtro (formato ISO Date).
+     * @return ResponseEntity com os campos selecionados de cada evento.
+     */
+    @GetMapping(value = "/filter", params = {"fields", "!cursor"})
+    public ResponseEntity<List<Map<String, Object>>> getFilteredEventFields(@RequestParam String fields,
+                                                                            @RequestParam(defaultValue = "0") int page,
+                                                                            @RequestParam(defaultValue = "10") int size,
+                                                                            @RequestParam String city,
+                                                                            @RequestParam String uf,
+                                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date startDate,
+                                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date endDate,
+                                                                            ServletWebRequest request) {
+        Set<EventField> selected = this.selectedFields(fields);
+        return this.conditionalGet(request, this.eventService.getEventsETag(), QUERY_CACHE,
+                () -> eventService.getFilteredEvents(page, size, city, uf, startDate, endDate, selected));
+    }
+
+    /**
+     * Endpoint para obter eventos filtrados com paginação por cursor.
+     * Selecionado quando o parâmetro cursor está presente (vazio para a primeira página).
+     *
+     * @param cursor    Token de continuação retornado na página anterior.
+     * @param size      Tamanho da página (padrão é 10).
+     * @param city      Cidade para filtro.
+     * @param uf        Estado para filtro.
+     * @param startDate Data de início para filtro (formato ISO Date).
+     * @param endDate   Data de fim para filtro (formato ISO Date).
+     * @return ResponseEntity com os eventos da página e o token da próxima página.
+     */
+    @GetMapping(value = "/filter", params = "cursor")
+    public ResponseEntity<EventPageDTO> getFilteredEventsByCursor(@RequestParam String cursor,
+                                                                  @RequestParam(defaultValue = "10") int size,
+                                                                  @RequestParam String city,
+                                                                  @RequestParam String uf,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date startDate,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date endDate,
+                                                                  ServletWebRequest request) {
+        return this.conditionalGet(request, this.eventService.getEventsETag(), QUERY_CACHE,
+                () -> eventService.getFilteredEvents(cursor, size, city, uf, startDate, endDate));
+    }
+
+    /**
+     * Endpoint de descoberta de eventos futuros, com filtros por estado, cidade e modalidade e as
+     * contagens por UF, por cidade e remoto/presencial.
+     *
+     * @param uf     Estado para filtro (opcional; sem diferença de acentos e maiúsculas).
+     * @param city   Cidade para filtro (opcional; sem diferença de acentos e maiúsculas).
+     * @param remote Modalidade para filtro (opcional).
+     * @param page   Número da página solicitada (padrão é 0).
+     * @param size   Tamanho da página (padrão é 10).
+     * @return ResponseEntity com os eventos e as contagens das facetas.
+     */
+    @GetMapping("/discover")
+    public ResponseEntity<EventDiscoveryDTO> discoverEvents(@RequestParam(required = false) String uf,
+                                                            @RequestParam(required = false) String city,
+                                                            @RequestParam(required = false) Boolean remote,
+                                                            @RequestParam(defaultValue = "0") int page,
+                                                            @RequestParam(defaultValue = "10") int size,
+                                                            ServletWebRequest request) {
+        return this.conditionalUpcoming(request, () -> this.eventService.discoverEvents(uf, city, remote, page, size));
     }
 
     /**
-     * Endpoint para buscar eventos por título.
+     * Endpoint para buscar eventos por texto no título e na descrição, ordenados por relevância.
      *
-     * @param title Título do evento para busca.
+     * @param title Texto da busca.
+     * @param page  Número da página solicitada (padrão é 0).
+     * @param size  Tamanho da página (padrão é 10, máximo 100).
      * @return ResponseEntity com a lista de eventos encontrados.
      */
     @GetMapping("/search")
-    public ResponseEntity<List<EventResponseDTO>> getSearchEvents(@RequestParam String title) {
-        List<EventResponseDTO> events = eventService.searchEvents(title);
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventResponseDTO>> getSearchEvents(@RequestParam String title,
+                                                                  @RequestParam(defaultValue = "0") int page,
+                                                                  @RequestParam(defaultValue = "10") int size,
+                                                                  ServletWebRequest request) {
+        return this.conditionalGet(request, this.eventService.getEventsETag(), QUERY_CACHE,
+                () -> eventService.searchEvents(title, page, size));
+    }
+
+    /**
+     * Responde a listagem de eventos futuros com validadores quando ela é servida pelo snapshot;
+     * caso contrário (listagem vinda do banco), responde sem ETag.
+     */
+    private <T> ResponseEntity<T> conditionalUpcoming(ServletWebRequest request, Supplier<T> body) {
+        Optional<String> eTag = this.eventService.getUpcomingEventsETag();
+        if (eTag.isEmpty()) {
+            return ResponseEntity.ok().cacheControl(UPCOMING_CACHE).varyBy(HttpHeaders.ACCEPT).body(body.get());
+        }
+        return this.conditionalGet(request, eTag.get(), UPCOMING_CACHE, body);
+    }
+
+    /**
+     * Requisição condicional: se a ETag do cliente ainda for válida, responde 304
+     * sem executar a consulta; caso contrário, consulta e responde com os validadores atuais.
+     * A ETag é obtida antes dos dados, então uma alteração concorrente nunca fica associada à ETag antiga.
+     */
+    private <T> ResponseEntity<T> conditionalGet(ServletWebRequest request, String eTag, CacheControl cacheControl,
+                                                 Supplier<T> body) {
+        eTag = this.representationETag(request, eTag);
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        request.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(eTag)
+                .body(body.get());
+    }
+
+    /**
+     * Interpreta o parâmetro fields antes da validação condicional, para que um campo inválido
+     * responda 400 em vez de um 304 ou de um erro interno.
+     */
+    private Set<EventField> selectedFields(String fields) {
+        try {
+            return EventField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * As respostas podem ser negociadas em JSON ou CBOR; cada formato recebe uma ETag própria, para que
+     * uma validação nunca confirme a cópia em cache do outro formato. O formato segue a mesma escolha da
+     * negociação de conteúdo: o tipo aceito de maior qualidade (o mais específico em caso de empate),
+     * com JSON quando o tipo aceito admite ambos.
+     */
+    private String representationETag(ServletWebRequest request, String eTag) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return eTag;
+        }
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return eTag;
+        }
+        MediaType selected = acceptedTypes.stream()
+                .filter(type -> type.getQualityValue() > 0)
+                .filter(type -> type.isCompatibleWith(MediaType.APPLICATION_JSON)
+                        || type.isCompatibleWith(MediaType.APPLICATION_CBOR))
+                .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed()
+                        .thenComparing(MediaType::isConcrete, Comparator.reverseOrder()))
+                .findFirst()
+                .orElse(null);
+        if (selected == null || selected.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + "-cbor\"";
     }
 }
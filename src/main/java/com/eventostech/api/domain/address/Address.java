@@ -9,7 +9,9 @@ import lombok.Setter;
 
 import java.util.UUID;
 
-@Table(name = "address")
+@Table(name = "address", indexes = {
+        @Index(name = "idx_address_uf_city_key", columnList = "uf_key, city_key"),
+        @Index(name = "idx_address_event_id", columnList = "event_id")})
 @Entity
 @Setter
 @Getter
@@ -24,7 +26,20 @@ public class Address {
     private String city;
     private String uf;
 
+    @Column(nullable = false)
+    private String cityKey; // Cidade normalizada (AddressKey), usada nos filtros por igualdade
+
+    @Column(nullable = false)
+    private String ufKey; // UF normalizada (AddressKey), usada nos filtros por igualdade
+
     @ManyToOne
     @JoinColumn(name = "event_id")
     private Event event;
+
+    @PrePersist
+    @PreUpdate
+    private void updateKeys() {
+        this.cityKey = AddressKey.of(city);
+        this.ufKey = AddressKey.of(uf);
+    }
 }
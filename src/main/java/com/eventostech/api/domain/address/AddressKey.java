@@ -0,0 +1,33 @@
+package com.eventostech.api.domain.address;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de cidade e UF para as chaves de busca exata (city_key, uf_key): sem acentos,
+ * em minúsculas e com espaços consecutivos reduzidos a um. "São  Paulo" e "sao paulo" geram a
+ * mesma chave, permitindo filtrar com igualdade sobre um índice em vez de LIKE com curinga.
+ */
+public final class AddressKey {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private AddressKey() {
+    }
+
+    /**
+     * Gera a chave normalizada de uma cidade ou UF.
+     *
+     * @param value Valor informado (pode ser nulo).
+     * @return Chave normalizada, ou vazio se o valor for nulo ou em branco.
+     */
+    public static String of(String value) {
+        if (value == null) {
+            return "";
+        }
+        String withoutMarks = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(withoutMarks.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,4 @@
+package com.eventostech.api.domain.bulk;
+
+public record BulkImportErrorDTO(long line, String message) {
+}
@@ -0,0 +1,9 @@
+package com.eventostech.api.domain.bulk;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação em lote. A lista de erros é limitada; errorCount traz o total.
+ */
+public record BulkImportReportDTO(long received, long imported, long errorCount, List<BulkImportErrorDTO> errors) {
+}
@@ -0,0 +1,9 @@
+package com.eventostech.api.domain.change;
+
+import java.util.List;
+
+/**
+ * Lote de alterações a partir de uma sequência. "next" é a sequência a ser informada na próxima leitura.
+ */
+public record ChangeBatchDTO(List<ChangeDTO> changes, long next) {
+}
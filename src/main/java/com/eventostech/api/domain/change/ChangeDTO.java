@@ -0,0 +1,14 @@
+package com.eventostech.api.domain.change;
+
+import com.eventostech.api.domain.event.EventChangedEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Alteração publicada. O payload traz o estado após a alteração: o evento (EVENT_CREATED/EVENT_UPDATED)
+ * ou o cupom adicionado (COUPON_ADDED).
+ */
+public record ChangeDTO(long seq, UUID eventId, EventChangedEvent.Type type, Date occurredAt, @JsonRawValue String payload) {
+}
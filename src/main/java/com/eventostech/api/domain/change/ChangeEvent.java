@@ -0,0 +1,46 @@
+package com.eventostech.api.domain.change;
+
+import com.eventostech.api.domain.event.EventChangedEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Registro da outbox: gravado na mesma transação da alteração do evento ou cupom e publicado depois
+ * pelo relay, que atribui o número de sequência (sem lacunas) visto pelos consumidores.
+ */
+@Entity
+@Table(name = "change_event",
+        uniqueConstraints = @UniqueConstraint(name = "uk_change_event_published_seq", columnNames = "published_seq"))
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private EventChangedEvent.Type type;
+
+    @Column(length = 8000)
+    private String payload; // Estado após a alteração, em JSON
+
+    @Column(nullable = false)
+    private Date createdAt;
+
+    private Long publishedSeq; // Nulo até o relay publicar a alteração
+    private Date publishedAt;
+
+}
@@ -6,12 +6,15 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.Date;
 import java.util.UUID;
 
 @Entity
-@Table(name = "coupon")
+@Table(name = "coupon",
+        uniqueConstraints = @UniqueConstraint(name = "uk_coupon_event_code", columnNames = {"event_id", "code"}),
+        indexes = @Index(name = "idx_coupon_event_valid", columnList = "event_id, valid"))
 @Setter
 @Getter
 @NoArgsConstructor
@@ -26,6 +29,13 @@ public class Coupon {
     private Integer discount;
     private Date valid;
 
+    private Integer maxUses; // Limite total de resgates (nulo = ilimitado)
+    private Integer perUserLimit; // Limite de resgates por usuário (nulo = ilimitado)
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int uses; // Resgates já realizados, incrementados de forma atômica no banco
+
     @ManyToOne
     @JoinColumn(name = "event_id")
     private Event event;
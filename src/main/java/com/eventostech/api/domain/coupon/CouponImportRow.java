@@ -0,0 +1,10 @@
+package com.eventostech.api.domain.coupon;
+
+import java.util.UUID;
+
+/**
+ * Linha da importação em lote de cupons (NDJSON ou CSV com as mesmas colunas).
+ * maxUses e perUserLimit são opcionais (vazios = ilimitado).
+ */
+public record CouponImportRow(UUID eventId, String code, Integer discount, Long valid, Integer maxUses, Integer perUserLimit) {
+}
@@ -0,0 +1,4 @@
+package com.eventostech.api.domain.coupon;
+
+public record CouponRedeemRequestDTO(String userId) {
+}
@@ -0,0 +1,31 @@
+package com.eventostech.api.domain.coupon;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Entity
+@Table(name = "coupon_redemption", indexes = @Index(name = "idx_coupon_redemption_coupon_user", columnList = "coupon_id, user_id"))
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponRedemption {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "coupon_id", nullable = false)
+    private Coupon coupon;
+
+    private String userId;
+    private Date redeemedAt;
+
+}
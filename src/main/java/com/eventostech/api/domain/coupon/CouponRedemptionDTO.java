@@ -0,0 +1,6 @@
+package com.eventostech.api.domain.coupon;
+
+import java.util.UUID;
+
+public record CouponRedemptionDTO(UUID redemptionId, String code, Integer discount, Integer remainingUses) {
+}
@@ -1,4 +1,4 @@
 package com.eventostech.api.domain.coupon;
 
-public record CouponRequestDTO(String code, Integer discount, Long valid) {
+public record CouponRequestDTO(String code, Integer discount, Long valid, Integer maxUses, Integer perUserLimit) {
 }
@@ -0,0 +1,7 @@
+package com.eventostech.api.domain.coupon;
+
+import java.util.Date;
+
+public record CouponValidationDTO(String code, Integer discount, Date validUntil, Integer remainingUses,
+                                  boolean redeemable, String reason) {
+}
@@ -6,11 +6,14 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CurrentTimestamp;
+import org.hibernate.annotations.SourceType;
 
 import java.util.Date;
 import java.util.UUID;
 
-@Table(name = "event")
+@Table(name = "event", indexes = @Index(name = "idx_event_updated_at_id", columnList = "updated_at, id"))
 @Entity
 @Setter
 @Getter
@@ -24,12 +27,19 @@ public class Event {
     private String title;
     private String description;
     private String imgUrl;
+    private String mediumUrl;
+    private String thumbUrl;
+    @Enumerated(EnumType.STRING)
+    private ImageStatus imgStatus;
     private String eventUrl;
     private Boolean remote;
     private Date date;
 
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(nullable = false)
+    @CurrentTimestamp(source = SourceType.DB)
+    private Date updatedAt; // Última alteração do evento ou de seus cupons (relógio do banco), usada na exportação incremental
+
     @OneToOne(mappedBy = "event", cascade = CascadeType.ALL)
     private Address address;
-
-
 }
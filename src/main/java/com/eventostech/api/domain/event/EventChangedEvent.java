@@ -0,0 +1,25 @@
+package com.eventostech.api.domain.event;
+
+import java.util.UUID;
+
+/**
+ * Evento de aplicação publicado sempre que um evento ou seus cupons mudam.
+ * Usado para invalidar caches e manter estruturas em memória sincronizadas.
+ */
+public record EventChangedEvent(UUID eventId, Type type) {
+
+    public enum Type {
+        EVENT_CREATED, // Novo evento cadastrado
+        EVENT_UPDATED, // Dados do evento alterados (ex.: imagem processada)
+        COUPON_ADDED,     // Cupom adicionado ao evento
+        COUPON_EXHAUSTED, // Cupom do evento atingiu o limite de usos
+        EVENT_ARCHIVED;   // Evento já passado movido para o arquivo
+
+        /**
+         * Indica se a alteração afeta apenas os cupons do evento (e não os dados do evento).
+         */
+        public boolean isCouponChange() {
+            return this == COUPON_ADDED || this == COUPON_EXHAUSTED;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.eventostech.api.domain.event;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Posição de continuação da paginação por cursor (keyset), formada pela chave de ordenação (date, id)
+ * do último evento entregue. É trafegada para o cliente como um token opaco.
+ */
+public record EventCursor(Date date, UUID id) {
+
+    /**
+     * Menor UUID na ordem do banco; combinado a uma data, posiciona antes de todos os eventos dessa data.
+     */
+    public static final UUID MIN_ID = new UUID(0L, 0L);
+
+    /**
+     * Mesma ordem usada pelas consultas (ORDER BY date, id). O UUID é comparado sem sinal, byte a byte,
+     * como no PostgreSQL e no H2 (UUID.compareTo compara com sinal e divergiria do banco).
+     */
+    public static final Comparator<EventCursor> ORDER = Comparator.comparing(EventCursor::date)
+            .thenComparing(EventCursor::id, (left, right) -> {
+                int high = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+                return high != 0 ? high : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+            });
+
+    /**
+     * Cria o cursor que aponta para depois do evento informado.
+     *
+     * @param event Último evento da página atual.
+     * @return Cursor para a próxima página.
+     */
+    public static EventCursor after(EventResponseDTO event) {
+        return new EventCursor(event.date(), event.id());
+    }
+
+    /**
+     * Codifica o cursor em um token opaco (Base64 URL-safe).
+     *
+     * @return Token a ser enviado ao cliente.
+     */
+    public String encode() {
+        String raw = date.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um token recebido do cliente.
+     *
+     * @param token Token gerado por {@link #encode()}.
+     * @return Cursor correspondente.
+     * @throws IllegalArgumentException Se o token for inválido.
+     */
+    public static EventCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new EventCursor(new Date(Long.parseLong(raw.substring(0, separator))),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+}
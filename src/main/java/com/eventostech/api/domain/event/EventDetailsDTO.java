@@ -12,6 +12,8 @@ public record EventDetailsDTO(
         String city,
         String uf,
         String imgUrl,
+        String mediumUrl,
+        String thumbUrl,
         String eventUrl,
         List<CouponDTO> coupons) {
 
@@ -0,0 +1,6 @@
+package com.eventostech.api.domain.event;
+
+import java.util.List;
+
+public record EventDiscoveryDTO(List<EventResponseDTO> events, EventFacetsDTO facets) {
+}
@@ -0,0 +1,28 @@
+package com.eventostech.api.domain.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Linha da exportação do catálogo. Usa as mesmas colunas da importação em lote (datas em epoch
+ * millis), acrescidas da última alteração e dos cupons válidos.
+ */
+public record EventExportDTO(
+        UUID id,
+        String title,
+        String description,
+        Long date,
+        String city,
+        String state,
+        Boolean remote,
+        String eventUrl,
+        String imgUrl,
+        Long updatedAt,
+        List<CouponDTO> coupons) {
+
+    public record CouponDTO(
+            String code,
+            Integer discount,
+            Long valid) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.eventostech.api.domain.event;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Dados de um evento usados nas contagens de facetas da descoberta.
+ */
+public record EventFacetRow(UUID id, Date date, Boolean remote, String city, String uf, String cityKey, String ufKey) {
+}
@@ -0,0 +1,16 @@
+package com.eventostech.api.domain.event;
+
+import java.util.List;
+
+public record EventFacetsDTO(
+        List<FacetCountDTO> ufs,
+        List<FacetCountDTO> cities,
+        long remote,
+        long inPerson) {
+
+    public record FacetCountDTO(
+            String key,
+            String label,
+            long count) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.eventostech.api.domain.event;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Campos do EventResponseDTO que podem ser selecionados nas listagens (parâmetro fields), com o nome
+ * usado no JSON. Os campos não selecionados não são consultados no banco nem enviados na resposta.
+ */
+public enum EventField {
+
+    ID("id", EventResponseDTO::id),
+    TITLE("title", EventResponseDTO::title),
+    DESCRIPTION("description", EventResponseDTO::description),
+    DATE("date", EventResponseDTO::date),
+    CITY("city", EventResponseDTO::city),
+    STATE("state", EventResponseDTO::state),
+    REMOTE("remote", EventResponseDTO::remote),
+    EVENT_URL("eventUrl", EventResponseDTO::eventUrl),
+    IMG_URL("imgUrl", EventResponseDTO::imgUrl),
+    THUMB_URL("thumbUrl", EventResponseDTO::thumbUrl);
+
+    private final String jsonName;
+    private final Function<EventResponseDTO, Object> accessor;
+
+    EventField(String jsonName, Function<EventResponseDTO, Object> accessor) {
+        this.jsonName = jsonName;
+        this.accessor = accessor;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Indica se o campo vem do endereço do evento (exige o join com address).
+     */
+    public boolean fromAddress() {
+        return this == CITY || this == STATE;
+    }
+
+    /**
+     * Interpreta a lista de campos do parâmetro fields (nomes do JSON separados por vírgula).
+     *
+     * @param fields Nomes dos campos, ex.: "id,title,date,city,thumbUrl".
+     * @return Campos selecionados, na ordem da enumeração.
+     * @throws IllegalArgumentException Se algum campo não existir ou nenhum for informado.
+     */
+    public static Set<EventField> parse(String fields) {
+        Set<EventField> selected = EnumSet.noneOf(EventField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(ofJsonName(trimmed));
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum campo informado");
+        }
+        return selected;
+    }
+
+    /**
+     * Projeta um evento já carregado (ex.: do snapshot em memória) nos campos selecionados.
+     *
+     * @param event  Evento completo.
+     * @param fields Campos selecionados.
+     * @return Valores dos campos selecionados, pelo nome do JSON.
+     */
+    public static Map<String, Object> project(EventResponseDTO event, Set<EventField> fields) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (EventField field : fields) {
+            projected.put(field.jsonName, field.accessor.apply(event));
+        }
+        return projected;
+    }
+
+    private static EventField ofJsonName(String name) {
+        for (EventField field : values()) {
+            if (field.jsonName.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Campo desconhecido: " + name.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,6 @@
+package com.eventostech.api.domain.event;
+
+import java.util.UUID;
+
+public record EventImageStatusDTO(UUID eventId, ImageStatus status, String imgUrl) {
+}
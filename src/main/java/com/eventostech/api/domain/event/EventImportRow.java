@@ -0,0 +1,11 @@
+package com.eventostech.api.domain.event;
+
+import java.util.UUID;
+
+/**
+ * Linha da importação em lote de eventos (NDJSON ou CSV com as mesmas colunas).
+ * O ID é opcional: quando informado pelo cliente, permite referenciar o evento na importação de cupons.
+ */
+public record EventImportRow(UUID id, String title, String description, Long date, String city, String state,
+                             Boolean remote, String eventUrl, String imgUrl) {
+}
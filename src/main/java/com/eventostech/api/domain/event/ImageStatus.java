@@ -0,0 +1,11 @@
+package com.eventostech.api.domain.event;
+
+/**
+ * Situação do processamento da imagem de um evento.
+ */
+public enum ImageStatus {
+    NONE,    // Evento criado sem imagem
+    PENDING, // Imagem recebida e aguardando upload para o armazenamento
+    READY,   // Imagem disponível em imgUrl
+    FAILED   // Upload falhou após todas as tentativas
+}
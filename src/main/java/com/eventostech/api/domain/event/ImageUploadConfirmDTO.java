@@ -0,0 +1,4 @@
+package com.eventostech.api.domain.event;
+
+public record ImageUploadConfirmDTO(String key) {
+}
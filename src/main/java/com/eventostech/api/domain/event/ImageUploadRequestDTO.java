@@ -0,0 +1,4 @@
+package com.eventostech.api.domain.event;
+
+public record ImageUploadRequestDTO(String contentType, Long contentLength) {
+}
@@ -0,0 +1,7 @@
+package com.eventostech.api.domain.event;
+
+import java.util.Date;
+import java.util.Map;
+
+public record ImageUploadUrlDTO(String key, String uploadUrl, Map<String, String> headers, Date expiresAt) {
+}
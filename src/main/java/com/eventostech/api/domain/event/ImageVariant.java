@@ -0,0 +1,35 @@
+package com.eventostech.api.domain.event;
+
+import java.util.UUID;
+
+/**
+ * Derivados gerados a partir da imagem enviada para um evento.
+ * Cada derivado tem um limite para o maior lado da imagem, em pixels.
+ */
+public enum ImageVariant {
+    ORIGINAL("original", 2560), // Original recomprimido
+    MEDIUM("medium", 1024),     // Tamanho para páginas de detalhes
+    THUMBNAIL("thumb", 320);    // Miniatura para listagens
+
+    private final String keyName;
+    private final int maxDimension;
+
+    ImageVariant(String keyName, int maxDimension) {
+        this.keyName = keyName;
+        this.maxDimension = maxDimension;
+    }
+
+    public int maxDimension() {
+        return maxDimension;
+    }
+
+    /**
+     * Chave determinística do derivado no armazenamento de objetos.
+     *
+     * @param eventId ID do evento dono da imagem.
+     * @return Chave no formato events/{eventId}/{derivado}.jpg.
+     */
+    public String objectKey(UUID eventId) {
+        return "events/" + eventId + "/" + keyName + ".jpg";
+    }
+}
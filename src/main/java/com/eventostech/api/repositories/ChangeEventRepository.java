@@ -0,0 +1,59 @@
+package com.eventostech.api.repositories;
+
+import com.eventostech.api.domain.change.ChangeDTO;
+import com.eventostech.api.domain.change.ChangeEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    /**
+     * Busca, com bloqueio, as alterações ainda não publicadas na ordem de gravação. O bloqueio impede
+     * que relays de outros nós publiquem as mesmas alterações ao mesmo tempo.
+     *
+     * @param pageable Tamanho do lote.
+     * @return Alterações pendentes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ChangeEvent c WHERE c.publishedSeq IS NULL ORDER BY c.id")
+    List<ChangeEvent> findUnpublished(Pageable pageable);
+
+    /**
+     * Obtém a última sequência publicada.
+     *
+     * @return Maior sequência publicada, ou 0 se nenhuma alteração foi publicada.
+     */
+    @Query("SELECT COALESCE(MAX(c.publishedSeq), 0) FROM ChangeEvent c")
+    long findLastPublishedSeq();
+
+    /**
+     * Busca as alterações publicadas depois da sequência informada, em ordem de sequência.
+     *
+     * @param after    Última sequência já consumida.
+     * @param pageable Tamanho do lote.
+     * @return Alterações publicadas.
+     */
+    @Query("SELECT new com.eventostech.api.domain.change.ChangeDTO(c.publishedSeq, c.eventId, c.type, c.createdAt, c.payload) " +
+            "FROM ChangeEvent c WHERE c.publishedSeq > :after ORDER BY c.publishedSeq")
+    List<ChangeDTO> findPublishedAfter(@Param("after") long after, Pageable pageable);
+
+    /**
+     * Remove as alterações publicadas antes do instante informado.
+     *
+     * @param before Limite de retenção.
+     * @return Quantidade de alterações removidas.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ChangeEvent c WHERE c.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Date before);
+}
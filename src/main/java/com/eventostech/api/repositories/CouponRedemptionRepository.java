@@ -0,0 +1,11 @@
+package com.eventostech.api.repositories;
+
+import com.eventostech.api.domain.coupon.CouponRedemption;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface CouponRedemptionRepository extends JpaRepository<CouponRedemption, UUID> {
+
+    long countByCouponIdAndUserId(UUID couponId, String userId);
+}
@@ -1,14 +1,52 @@
 package com.eventostech.api.repositories;
 
 import com.eventostech.api.domain.coupon.Coupon;
-import com.eventostech.api.domain.event.Event;
+import com.eventostech.api.domain.event.EventDetailsDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface CouponRepository extends JpaRepository<Coupon, UUID> {
 
     List<Coupon> findByEventIdAndValidAfter(UUID eventId, Date currentDate);
+
+    /**
+     * Lista os cupons ainda válidos (não expirados nem esgotados) de um evento, ordenados pela expiração,
+     * sem carregar as entidades (usa o índice event_id, valid).
+     */
+    @Query("SELECT new com.eventostech.api.domain.event.EventDetailsDTO$CouponDTO(c.code, c.discount, c.valid) " +
+            "FROM Coupon c WHERE c.event.id = :eventId AND c.valid > :now " +
+            "AND (c.maxUses IS NULL OR c.uses < c.maxUses) ORDER BY c.valid")
+    List<EventDetailsDTO.CouponDTO> findValidCoupons(@Param("eventId") UUID eventId, @Param("now") Date now);
+
+    /**
+     * Busca um cupom pelo código dentro do evento (índice único event_id, code).
+     */
+    Optional<Coupon> findByEventIdAndCode(UUID eventId, String code);
+
+    /**
+     * Registra um uso do cupom se ainda houver saldo. A condição é avaliada pelo banco na própria
+     * atualização, que mantém a linha bloqueada até o fim da transação: resgates concorrentes do mesmo
+     * cupom são serializados e nenhum incremento se perde nem ultrapassa o limite.
+     *
+     * @param id ID do cupom.
+     * @return 1 se o uso foi registrado, 0 se o limite de usos já foi atingido.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Coupon c SET c.uses = c.uses + 1 WHERE c.id = :id AND (c.maxUses IS NULL OR c.uses < c.maxUses)")
+    int incrementUses(@Param("id") UUID id);
+
+    /**
+     * Lê o contador de usos diretamente do banco (sem passar pelo contexto de persistência).
+     */
+    @Query("SELECT c.uses FROM Coupon c WHERE c.id = :id")
+    int findUsesById(@Param("id") UUID id);
 }
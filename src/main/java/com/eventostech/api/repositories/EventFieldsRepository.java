@@ -0,0 +1,39 @@
+package com.eventostech.api.repositories;
+
+import com.eventostech.api.domain.event.EventField;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface EventFieldsRepository {
+
+    /**
+     * Busca eventos futuros paginados, ordenados por (date, id), selecionando no SQL apenas os campos
+     * informados.
+     *
+     * @param fields      Campos a selecionar.
+     * @param currentDate Data atual a partir da qual os eventos são considerados futuros.
+     * @param page        Número da página requisitada.
+     * @param size        Tamanho da página.
+     * @return Valores dos campos de cada evento, pelo nome do JSON.
+     */
+    List<Map<String, Object>> findUpcomingEventFields(Set<EventField> fields, Date currentDate, int page, int size);
+
+    /**
+     * Busca eventos filtrados por cidade, estado e período, ordenados por (date, id), selecionando no
+     * SQL apenas os campos informados.
+     *
+     * @param fields    Campos a selecionar.
+     * @param city      Chave da cidade (AddressKey) ou vazio para não aplicar o filtro de cidade.
+     * @param uf        Chave do estado (AddressKey) ou vazio para não aplicar o filtro de estado.
+     * @param startDate Data mínima de início para filtrar os eventos.
+     * @param endDate   Data máxima de fim para filtrar os eventos.
+     * @param page      Número da página requisitada.
+     * @param size      Tamanho da página.
+     * @return Valores dos campos de cada evento, pelo nome do JSON.
+     */
+    List<Map<String, Object>> findFilteredEventFields(Set<EventField> fields, String city, String uf,
+                                                      Date startDate, Date endDate, int page, int size);
+}
@@ -0,0 +1,116 @@
+package com.eventostech.api.repositories;
+
+import com.eventostech.api.domain.address.Address;
+import com.eventostech.api.domain.event.Event;
+import com.eventostech.api.domain.event.EventField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Listagens com seleção de campos, montadas com a Criteria API: o SELECT contém apenas as colunas dos
+ * campos pedidos (com as mesmas expressões de RESPONSE_PROJECTION) e o join com o endereço só é feito
+ * quando cidade ou estado são pedidos ou filtrados.
+ */
+public class EventFieldsRepositoryImpl implements EventFieldsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager; // Gerenciador de entidades para as consultas com seleção de campos
+
+    @Override
+    public List<Map<String, Object>> findUpcomingEventFields(Set<EventField> fields, Date currentDate, int page, int size) {
+        return this.find(fields, false, query -> {
+            CriteriaBuilder cb = query.cb();
+            return List.of(cb.greaterThanOrEqualTo(query.event().get("date"), currentDate));
+        }, page, size);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFilteredEventFields(Set<EventField> fields, String city, String uf,
+                                                             Date startDate, Date endDate, int page, int size) {
+        boolean byAddress = !city.isEmpty() || !uf.isEmpty();
+        return this.find(fields, byAddress, query -> {
+            CriteriaBuilder cb = query.cb();
+            List<Predicate> predicates = new ArrayList<>();
+            if (!city.isEmpty()) {
+                predicates.add(cb.equal(query.address().get("cityKey"), city));
+            }
+            if (!uf.isEmpty()) {
+                predicates.add(cb.equal(query.address().get("ufKey"), uf));
+            }
+            predicates.add(cb.between(query.event().get("date"), startDate, endDate));
+            return predicates;
+        }, page, size);
+    }
+
+    /**
+     * Raiz da consulta e join com o endereço (nulo se não for necessário).
+     */
+    private record FieldsQuery(CriteriaBuilder cb, Root<Event> event, Join<Event, Address> address) {
+    }
+
+    private List<Map<String, Object>> find(Set<EventField> fields, boolean byAddress,
+                                           Function<FieldsQuery, List<Predicate>> where, int page, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+        Root<Event> event = criteria.from(Event.class);
+        Join<Event, Address> address = (byAddress || fields.stream().anyMatch(EventField::fromAddress))
+                ? event.join("address", JoinType.LEFT)
+                : null;
+        FieldsQuery query = new FieldsQuery(cb, event, address);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (EventField field : fields) {
+            selections.add(this.select(query, field).alias(field.jsonName()));
+        }
+        criteria.multiselect(selections)
+                .where(where.apply(query).toArray(Predicate[]::new))
+                .orderBy(cb.asc(event.get("date")), cb.asc(event.get("id")));
+
+        return entityManager.createQuery(criteria)
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList()
+                .stream()
+                .map(tuple -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (EventField field : fields) {
+                        row.put(field.jsonName(), tuple.get(field.jsonName()));
+                    }
+                    return row;
+                })
+                .toList();
+    }
+
+    private Selection<?> select(FieldsQuery query, EventField field) {
+        CriteriaBuilder cb = query.cb();
+        Root<Event> event = query.event();
+        return switch (field) {
+            case ID -> event.get("id");
+            case TITLE -> event.get("title");
+            case DESCRIPTION -> event.get("description");
+            case DATE -> event.get("date");
+            case CITY -> cb.coalesce(query.address().<String>get("city"), "");
+            case STATE -> cb.coalesce(query.address().<String>get("uf"), "");
+            case REMOTE -> event.get("remote");
+            case EVENT_URL -> event.get("eventUrl");
+            case IMG_URL -> event.get("imgUrl");
+            case THUMB_URL -> cb.coalesce(event.<String>get("thumbUrl"), event.<String>get("imgUrl"));
+        };
+    }
+}
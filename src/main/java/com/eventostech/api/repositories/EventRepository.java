@@ -1,55 +1,203 @@
 package com.eventostech.api.repositories;
 
 import com.eventostech.api.domain.event.Event;
-import org.springframework.data.domain.Page;
+import com.eventostech.api.domain.event.EventFacetRow;
+import com.eventostech.api.domain.event.EventResponseDTO;
+import com.eventostech.api.domain.event.ImageStatus;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface EventRepository extends JpaRepository<Event, UUID> {
+public interface EventRepository extends JpaRepository<Event, UUID>, EventSearchRepository, EventFieldsRepository {
 
     /**
-     * Busca eventos futuros a partir da data atual paginados.
+     * Projeção das listagens: monta o EventResponseDTO direto no SELECT, em uma única instrução SQL
+     * por página e sem carregar entidades gerenciadas (nem o endereço de cada evento separadamente).
+     */
+    String RESPONSE_PROJECTION = "SELECT new com.eventostech.api.domain.event.EventResponseDTO(" +
+            "e.id, e.title, e.description, e.date, COALESCE(a.city, ''), COALESCE(a.uf, ''), " +
+            "e.remote, e.eventUrl, e.imgUrl, COALESCE(e.thumbUrl, e.imgUrl)) " +
+            "FROM Event e LEFT JOIN e.address a ";
+
+    /**
+     * Projeção dos dados usados nas contagens de facetas (modalidade, estado e cidade).
+     */
+    String FACET_PROJECTION = "SELECT new com.eventostech.api.domain.event.EventFacetRow(" +
+            "e.id, e.date, e.remote, COALESCE(a.city, ''), COALESCE(a.uf, ''), COALESCE(a.cityKey, ''), COALESCE(a.ufKey, '')) " +
+            "FROM Event e LEFT JOIN e.address a ";
+
+    /**
+     * Busca eventos futuros a partir da data atual paginados, ordenados por (date, id).
+     * Retorna um Slice, dispensando a consulta de contagem total.
      *
      * @param currentDate Data atual a partir da qual os eventos são considerados futuros.
      * @param pageable    Objeto de paginação para controlar a paginação dos resultados.
-     * @return Página de eventos futuros com endereço carregado de forma antecipada (fetch join).
+     * @return Fatia de eventos futuros já projetados no DTO de listagem.
+     */
+    @Query(RESPONSE_PROJECTION + "WHERE e.date >= :currentDate ORDER BY e.date, e.id")
+    public Slice<EventResponseDTO> findUpcomingEvents(@Param("currentDate") Date currentDate, Pageable pageable);
+
+    /**
+     * Busca um evento já projetado no DTO de listagem.
+     *
+     * @param id ID do evento.
+     * @return Evento no formato DTO, se existir.
      */
-    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.address a WHERE e.date >= :currentDate")
-    public Page<Event> findUpcomingEvents(@Param("currentDate") Date currentDate, Pageable pageable);
+    @Query(RESPONSE_PROJECTION + "WHERE e.id = :id")
+    Optional<EventResponseDTO> findResponseById(@Param("id") UUID id);
 
     /**
-     * Busca eventos filtrados por cidade, estado, data de início e data de fim.
+     * Busca eventos futuros posicionados depois do cursor (date, id), para paginação por cursor (keyset).
+     * O predicado redundante {@code e.date >= :cursorDate} permite varrer o índice (date, id) a partir do cursor.
      *
-     * @param city      Cidade para filtrar os eventos (pode ser vazio para não aplicar o filtro de cidade).
-     * @param uf        Estado para filtrar os eventos (pode ser vazio para não aplicar o filtro de estado).
+     * @param currentDate Data atual a partir da qual os eventos são considerados futuros.
+     * @param cursorDate  Data do último evento já entregue.
+     * @param cursorId    ID do último evento já entregue.
+     * @param pageable    Objeto de paginação (apenas o tamanho é usado; a página deve ser 0).
+     * @return Fatia de eventos futuros após o cursor.
+     */
+    @Query(RESPONSE_PROJECTION +
+            "WHERE e.date >= :currentDate " +
+            "AND e.date >= :cursorDate AND (e.date > :cursorDate OR e.id > :cursorId) " +
+            "ORDER BY e.date, e.id")
+    Slice<EventResponseDTO> findUpcomingEventsAfter(@Param("currentDate") Date currentDate,
+                                                    @Param("cursorDate") Date cursorDate,
+                                                    @Param("cursorId") UUID cursorId,
+                                                    Pageable pageable);
+
+    /**
+     * Busca eventos filtrados por cidade, estado, data de início e data de fim. Cidade e estado são
+     * comparados por igualdade com as chaves normalizadas do endereço (índice uf_key, city_key).
+     *
+     * @param city      Chave da cidade (AddressKey) ou vazio para não aplicar o filtro de cidade.
+     * @param uf        Chave do estado (AddressKey) ou vazio para não aplicar o filtro de estado.
      * @param startDate Data mínima de início para filtrar os eventos.
      * @param endDate   Data máxima de fim para filtrar os eventos.
      * @param pageable  Objeto de paginação para controlar a paginação dos resultados.
-     * @return Página de eventos filtrados com endereço carregado de forma antecipada (fetch join).
+     * @return Fatia de eventos filtrados, ordenados por (date, id), já projetados no DTO de listagem.
+     */
+    @Query(RESPONSE_PROJECTION +
+            "WHERE (:city = '' OR a.cityKey = :city) " +
+            "AND (:uf = '' OR a.ufKey = :uf) " +
+            "AND (e.date >= :startDate AND e.date <= :endDate) " +
+            "ORDER BY e.date, e.id")
+    Slice<EventResponseDTO> findFilteredEvents(@Param("city") String city,
+                                               @Param("uf") String uf,
+                                               @Param("startDate") Date startDate,
+                                               @Param("endDate") Date endDate,
+                                               Pageable pageable);
+
+    /**
+     * Busca eventos filtrados posicionados depois do cursor (date, id), para paginação por cursor (keyset).
+     *
+     * @param city       Chave da cidade (AddressKey) ou vazio para não aplicar o filtro de cidade.
+     * @param uf         Chave do estado (AddressKey) ou vazio para não aplicar o filtro de estado.
+     * @param startDate  Data mínima de início para filtrar os eventos.
+     * @param endDate    Data máxima de fim para filtrar os eventos.
+     * @param cursorDate Data do último evento já entregue.
+     * @param cursorId   ID do último evento já entregue.
+     * @param pageable   Objeto de paginação (apenas o tamanho é usado; a página deve ser 0).
+     * @return Fatia de eventos filtrados após o cursor.
+     */
+    @Query(RESPONSE_PROJECTION +
+            "WHERE (:city = '' OR a.cityKey = :city) " +
+            "AND (:uf = '' OR a.ufKey = :uf) " +
+            "AND (e.date >= :startDate AND e.date <= :endDate) " +
+            "AND e.date >= :cursorDate AND (e.date > :cursorDate OR e.id > :cursorId) " +
+            "ORDER BY e.date, e.id")
+    Slice<EventResponseDTO> findFilteredEventsAfter(@Param("city") String city,
+                                                    @Param("uf") String uf,
+                                                    @Param("startDate") Date startDate,
+                                                    @Param("endDate") Date endDate,
+                                                    @Param("cursorDate") Date cursorDate,
+                                                    @Param("cursorId") UUID cursorId,
+                                                    Pageable pageable);
+
+    /**
+     * Busca eventos futuros para a descoberta, filtrados por estado, cidade (chaves normalizadas) e
+     * modalidade, ordenados por (date, id).
+     *
+     * @param currentDate Data atual a partir da qual os eventos são considerados futuros.
+     * @param uf          Chave do estado ou vazio para não filtrar.
+     * @param city        Chave da cidade ou vazio para não filtrar.
+     * @param remote      Modalidade (remoto ou presencial) ou nulo para não filtrar.
+     * @param pageable    Objeto de paginação para controlar a paginação dos resultados.
+     * @return Fatia de eventos já projetados no DTO de listagem.
+     */
+    @Query(RESPONSE_PROJECTION +
+            "WHERE e.date >= :currentDate " +
+            "AND (:uf = '' OR a.ufKey = :uf) " +
+            "AND (:city = '' OR a.cityKey = :city) " +
+            "AND (:remote IS NULL OR e.remote = :remote) " +
+            "ORDER BY e.date, e.id")
+    Slice<EventResponseDTO> findDiscoverEvents(@Param("currentDate") Date currentDate,
+                                               @Param("uf") String uf,
+                                               @Param("city") String city,
+                                               @Param("remote") Boolean remote,
+                                               Pageable pageable);
+
+    /**
+     * Lê em lotes, pelo índice (date, id), os dados de faceta dos eventos futuros posicionados depois
+     * do cursor. Usado na reconstrução dos contadores de facetas.
+     *
+     * @param cursorDate Data do último evento já lido (ou a data atual, na primeira leitura).
+     * @param cursorId   ID do último evento já lido (ou EventCursor.MIN_ID, na primeira leitura).
+     * @param pageable   Objeto de paginação (apenas o tamanho é usado; a página deve ser 0).
+     * @return Dados de faceta dos eventos.
+     */
+    @Query(FACET_PROJECTION +
+            "WHERE e.date >= :cursorDate AND (e.date > :cursorDate OR e.id > :cursorId) " +
+            "ORDER BY e.date, e.id")
+    List<EventFacetRow> findFacetRowsAfter(@Param("cursorDate") Date cursorDate,
+                                           @Param("cursorId") UUID cursorId,
+                                           Pageable pageable);
+
+    /**
+     * Busca os dados de faceta de um evento.
+     *
+     * @param id ID do evento.
+     * @return Dados de faceta do evento, se existir.
+     */
+    @Query(FACET_PROJECTION + "WHERE e.id = :id")
+    Optional<EventFacetRow> findFacetRowById(@Param("id") UUID id);
+
+    /**
+     * Atualiza a imagem de um evento ao final do upload assíncrono.
+     *
+     * @param id        ID do evento.
+     * @param imgUrl    URL pública da imagem (nula em caso de falha).
+     * @param mediumUrl URL do derivado de tamanho médio (nula se não gerado).
+     * @param thumbUrl  URL da miniatura (nula se não gerada).
+     * @param status    Nova situação da imagem.
+     * @return Quantidade de eventos atualizados.
      */
-    @Query("SELECT e FROM Event e LEFT JOIN e.address a " +
-            "WHERE (:city = '' OR a.city LIKE %:city%) " +
-            "AND (:uf = '' OR a.uf LIKE %:uf%) " +
-            "AND (e.date >= :startDate AND e.date <= :endDate)")
-    Page<Event> findFilteredEvents(@Param("city") String city,
-                                   @Param("uf") String uf,
-                                   @Param("startDate") Date startDate,
-                                   @Param("endDate") Date endDate,
-                                   Pageable pageable);
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.imgUrl = :imgUrl, e.mediumUrl = :mediumUrl, e.thumbUrl = :thumbUrl, " +
+            "e.imgStatus = :status, e.updatedAt = CURRENT_TIMESTAMP WHERE e.id = :id")
+    int updateImage(@Param("id") UUID id,
+                    @Param("imgUrl") String imgUrl,
+                    @Param("mediumUrl") String mediumUrl,
+                    @Param("thumbUrl") String thumbUrl,
+                    @Param("status") ImageStatus status);
 
     /**
-     * Busca eventos por título.
+     * Marca o evento como alterado (ex.: ao receber um cupom), para que a exportação incremental o inclua.
      *
-     * @param title Título do evento para buscar (pode ser vazio para buscar todos os eventos).
-     * @return Lista de eventos encontrados que correspondem ao título fornecido.
+     * @param id ID do evento.
+     * @return Quantidade de eventos atualizados.
      */
-    @Query("SELECT e FROM Event e LEFT JOIN e.address a " +
-            "WHERE (:title = '' OR e.title LIKE %:title%) ")
-    List<Event> findEventsByTitle(@Param("title") String title);
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.updatedAt = CURRENT_TIMESTAMP WHERE e.id = :id")
+    int touch(@Param("id") UUID id);
 }
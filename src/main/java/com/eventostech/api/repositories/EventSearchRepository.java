@@ -0,0 +1,19 @@
+package com.eventostech.api.repositories;
+
+import com.eventostech.api.domain.event.EventResponseDTO;
+
+import java.util.List;
+
+public interface EventSearchRepository {
+
+    /**
+     * Busca textual de eventos por título e descrição, com resultados ordenados por relevância.
+     * Cada termo da busca casa por prefixo (ex.: "conf" encontra "conferência").
+     *
+     * @param query Texto da busca (vazio retorna os eventos em ordem de data).
+     * @param page  Número da página requisitada.
+     * @param size  Tamanho da página.
+     * @return Página de eventos encontrados no formato DTO.
+     */
+    List<EventResponseDTO> searchEvents(String query, int page, int size);
+}
@@ -0,0 +1,118 @@
+package com.eventostech.api.repositories;
+
+import com.eventostech.api.domain.event.EventResponseDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Implementação da busca textual. No PostgreSQL usa a coluna search_vector (tsvector com índice GIN)
+ * para casar termos por prefixo com ranking, e o índice de trigramas do título para tolerar erros de
+ * digitação. Em outros bancos (ex.: H2 nos testes) usa LIKE por termo, sem tolerância a erros.
+ */
+public class EventSearchRepositoryImpl implements EventSearchRepository {
+
+    private static final int MAX_TERMS = 8; // Limite de termos considerados por busca
+
+    private static final String POSTGRES_SEARCH =
+            "SELECT e.id, e.title, e.description, e.date, COALESCE(a.city, ''), COALESCE(a.uf, ''), " +
+            "e.remote, e.event_url, e.img_url, COALESCE(e.thumb_url, e.img_url) " +
+            "FROM event e LEFT JOIN address a ON a.event_id = e.id " +
+            "WHERE e.search_vector @@ to_tsquery('portuguese', :tsquery) OR :query <% e.title " +
+            "ORDER BY GREATEST(ts_rank(e.search_vector, to_tsquery('portuguese', :tsquery)), " +
+            "word_similarity(:query, e.title)) DESC, e.date, e.id";
+
+    @PersistenceContext
+    private EntityManager entityManager; // Gerenciador de entidades para as consultas de busca
+
+    private volatile Boolean postgres; // Resolvido na primeira busca a partir do dialeto do Hibernate
+
+    @Override
+    public List<EventResponseDTO> searchEvents(String query, int page, int size) {
+        List<String> terms = Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_TERMS)
+                .toList();
+
+        if (terms.isEmpty()) {
+            return entityManager.createQuery(EventRepository.RESPONSE_PROJECTION + "ORDER BY e.date, e.id",
+                            EventResponseDTO.class)
+                    .setFirstResult(page * size)
+                    .setMaxResults(size)
+                    .getResultList();
+        }
+        return this.isPostgres() ? this.searchPostgres(terms, page, size) : this.searchPortable(terms, page, size);
+    }
+
+    private List<EventResponseDTO> searchPostgres(List<String> terms, int page, int size) {
+        String tsquery = terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & "));
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(POSTGRES_SEARCH)
+                .setParameter("tsquery", tsquery)
+                .setParameter("query", String.join(" ", terms))
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new EventResponseDTO(
+                        (UUID) row[0],
+                        (String) row[1],
+                        (String) row[2],
+                        toDate(row[3]),
+                        (String) row[4],
+                        (String) row[5],
+                        (Boolean) row[6],
+                        (String) row[7],
+                        (String) row[8],
+                        (String) row[9]))
+                .toList();
+    }
+
+    private List<EventResponseDTO> searchPortable(List<String> terms, int page, int size) {
+        StringBuilder jpql = new StringBuilder(EventRepository.RESPONSE_PROJECTION).append("WHERE 1 = 1 ");
+        for (int i = 0; i < terms.size(); i++) {
+            jpql.append("AND (LOWER(e.title) LIKE :term").append(i)
+                    .append(" OR LOWER(e.description) LIKE :term").append(i).append(") ");
+        }
+        jpql.append("ORDER BY CASE WHEN LOWER(e.title) LIKE :prefix THEN 0 ELSE 1 END, e.date, e.id");
+
+        TypedQuery<EventResponseDTO> search = entityManager.createQuery(jpql.toString(), EventResponseDTO.class);
+        for (int i = 0; i < terms.size(); i++) {
+            search.setParameter("term" + i, "%" + terms.get(i) + "%");
+        }
+        return search.setParameter("prefix", terms.get(0) + "%")
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    private static Date toDate(Object value) {
+        if (value instanceof LocalDateTime localDateTime) {
+            return new Date(Timestamp.valueOf(localDateTime).getTime());
+        }
+        return value != null ? new Date(((Date) value).getTime()) : null;
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect() instanceof PostgreSQLDialect;
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,348 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.address.AddressKey;
+import com.eventostech.api.domain.bulk.BulkImportErrorDTO;
+import com.eventostech.api.domain.bulk.BulkImportReportDTO;
+import com.eventostech.api.domain.coupon.CouponImportRow;
+import com.eventostech.api.domain.event.EventChangedEvent;
+import com.eventostech.api.domain.event.EventDetailsDTO;
+import com.eventostech.api.domain.event.EventImportRow;
+import com.eventostech.api.domain.event.EventResponseDTO;
+import com.eventostech.api.domain.event.ImageStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em lote de eventos e cupons. A entrada é lida em streaming e gravada em lotes JDBC
+ * (um INSERT preparado por tabela, executado com batch), cada lote em uma transação. Os IDs são
+ * gerados na aplicação, então nenhuma linha precisa ser lida de volta do banco.
+ * Se um lote for rejeitado pelo banco, suas linhas são regravadas uma a uma para identificar as que falharam.
+ */
+@Slf4j
+@Service
+public class BulkImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000; // Limite de erros detalhados no relatório
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO event (id, title, description, img_url, img_status, event_url, remote, date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ADDRESS = "INSERT INTO address (id, city, uf, city_key, uf_key, event_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_COUPON =
+            "INSERT INTO coupon (id, code, discount, valid, event_id, max_uses, per_user_limit, uses) VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String TOUCH_EVENT = "UPDATE event SET updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+    private static final String EXISTING_EVENTS = "SELECT id FROM event WHERE id IN (:ids)";
+    private static final String EXISTING_COUPONS = "SELECT event_id, code FROM coupon WHERE event_id IN (:ids) AND code IN (:codes)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate; // Execução dos INSERTs em batch
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate; // Consulta dos eventos referenciados pelos cupons
+
+    @Autowired
+    private TransactionTemplate transactionTemplate; // Uma transação por lote
+
+    @Autowired
+    private ObjectMapper objectMapper; // Conversão das linhas NDJSON/CSV
+
+    @Autowired
+    private UpcomingEventsFeed upcomingEventsFeed; // Snapshot recarregado ao fim da importação de eventos
+
+    @Autowired
+    private ChangeOutbox changeOutbox; // Registro das alterações de cada lote, na transação do lote
+
+    @Autowired
+    private EventFacetIndex eventFacetIndex; // Contadores de facetas recalculados ao fim da importação de eventos
+
+    @Autowired
+    private EventDataVersion eventDataVersion; // Versão dos dados, avançada ao fim da importação
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Publica notificações de alteração de eventos
+
+    @Value("${import.batch-size}")
+    private int batchSize; // Linhas gravadas por lote (e por transação)
+
+    /**
+     * Importa eventos (e seus endereços, quando presenciais) em lote.
+     *
+     * @param input  Conteúdo da requisição.
+     * @param format Formato da entrada.
+     * @return Relatório com o total de linhas, importadas e os erros por linha.
+     */
+    public BulkImportReportDTO importEvents(InputStream input, ImportFormat format) {
+        Report report = new Report();
+        this.read(input, format, EventImportRow.class, report, this::validateEvent, chunk -> {
+            report.imported(this.write(chunk, this::insertEvents, report).size());
+        });
+
+        if (report.imported > 0) {
+            this.upcomingEventsFeed.rebuild();
+            this.eventFacetIndex.rebuild();
+            this.eventDataVersion.bump();
+        }
+        log.info("Importação de eventos: {} linhas, {} importadas, {} com erro", report.received, report.imported, report.errorCount);
+        return report.toDTO();
+    }
+
+    /**
+     * Importa cupons em lote. Os eventos referenciados e os códigos já cadastrados são verificados com
+     * uma consulta cada por lote; códigos repetidos no evento são recusados por linha, sem derrubar o lote.
+     *
+     * @param input  Conteúdo da requisição.
+     * @param format Formato da entrada.
+     * @return Relatório com o total de linhas, importadas e os erros por linha.
+     */
+    public BulkImportReportDTO importCoupons(InputStream input, ImportFormat format) {
+        Report report = new Report();
+        Set<UUID> changedEvents = new HashSet<>();
+        this.read(input, format, CouponImportRow.class, report, this::validateCoupon, chunk -> {
+            Set<UUID> existing = this.existingEvents(chunk);
+            Set<String> codes = this.existingCoupons(chunk);
+            List<ImportRowReader.Row<CouponImportRow>> valid = new ArrayList<>(chunk.size());
+            for (ImportRowReader.Row<CouponImportRow> row : chunk) {
+                if (!existing.contains(row.value().eventId())) {
+                    report.fail(row.line(), "Evento não encontrado");
+                } else if (!codes.add(couponKey(row.value().eventId(), row.value().code()))) {
+                    report.fail(row.line(), "Cupom já cadastrado para o evento");
+                } else {
+                    valid.add(row);
+                }
+            }
+            List<ImportRowReader.Row<CouponImportRow>> written = this.write(valid, this::insertCoupons, report);
+            written.forEach(row -> changedEvents.add(row.value().eventId()));
+            report.imported(written.size());
+        });
+
+        changedEvents.forEach(eventId ->
+                this.eventPublisher.publishEvent(new EventChangedEvent(eventId, EventChangedEvent.Type.COUPON_ADDED)));
+        log.info("Importação de cupons: {} linhas, {} importadas, {} com erro", report.received, report.imported, report.errorCount);
+        return report.toDTO();
+    }
+
+    /**
+     * Lê a entrada, valida cada linha e entrega os lotes de linhas válidas para gravação.
+     */
+    private <T> void read(InputStream input, ImportFormat format, Class<T> type, Report report,
+                          Function<T, String> validator,
+                          Consumer<List<ImportRowReader.Row<T>>> chunkWriter) {
+        List<ImportRowReader.Row<T>> chunk = new ArrayList<>(batchSize);
+        try (ImportRowReader<T> reader = new ImportRowReader<>(input, format, type, objectMapper)) {
+            ImportRowReader.Row<T> row;
+            while ((row = reader.next()) != null) {
+                report.received++;
+                String error = row.error() != null ? row.error() : validator.apply(row.value());
+                if (error != null) {
+                    report.fail(row.line(), error);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == batchSize) {
+                    chunkWriter.accept(chunk);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o arquivo de importação", e);
+        }
+        if (!chunk.isEmpty()) {
+            chunkWriter.accept(chunk);
+        }
+    }
+
+    /**
+     * Grava o lote em uma transação. Se o banco rejeitar o lote, grava as linhas uma a uma,
+     * registrando o erro das que falharem.
+     *
+     * @return Linhas gravadas.
+     */
+    private <T> List<ImportRowReader.Row<T>> write(List<ImportRowReader.Row<T>> chunk,
+                                                  Consumer<List<ImportRowReader.Row<T>>> insert, Report report) {
+        if (chunk.isEmpty()) {
+            return chunk;
+        }
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> insert.accept(chunk));
+            return chunk;
+        } catch (DataAccessException e) {
+            log.debug("Lote de importação rejeitado, regravando linha a linha", e);
+        }
+        List<ImportRowReader.Row<T>> written = new ArrayList<>(chunk.size());
+        for (ImportRowReader.Row<T> row : chunk) {
+            try {
+                this.transactionTemplate.executeWithoutResult(status -> insert.accept(List.of(row)));
+                written.add(row);
+            } catch (DataAccessException e) {
+                report.fail(row.line(), "Erro ao gravar: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+        return written;
+    }
+
+    private void insertEvents(List<ImportRowReader.Row<EventImportRow>> rows) {
+        List<Object[]> events = new ArrayList<>(rows.size());
+        List<Object[]> addresses = new ArrayList<>();
+        List<ChangeOutbox.Entry> changes = new ArrayList<>(rows.size());
+        for (ImportRowReader.Row<EventImportRow> row : rows) {
+            EventImportRow event = row.value();
+            UUID id = event.id() != null ? event.id() : UUID.randomUUID();
+            boolean hasImage = event.imgUrl() != null && !event.imgUrl().isBlank();
+            String imgUrl = hasImage ? event.imgUrl() : null;
+            events.add(new Object[]{id, event.title(), event.description(), imgUrl,
+                    (hasImage ? ImageStatus.READY : ImageStatus.NONE).name(), event.eventUrl(), event.remote(),
+                    new Timestamp(event.date())});
+            if (!event.remote()) {
+                addresses.add(new Object[]{UUID.randomUUID(), event.city(), event.state(),
+                        AddressKey.of(event.city()), AddressKey.of(event.state()), id});
+            }
+            changes.add(new ChangeOutbox.Entry(id, EventChangedEvent.Type.EVENT_CREATED, new EventResponseDTO(id,
+                    event.title(), event.description(), new Date(event.date()), event.remote() ? "" : event.city(),
+                    event.remote() ? "" : event.state(), event.remote(), event.eventUrl(), imgUrl, imgUrl)));
+        }
+        this.jdbcTemplate.batchUpdate(INSERT_EVENT, events);
+        if (!addresses.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(INSERT_ADDRESS, addresses);
+        }
+        this.changeOutbox.appendAll(changes);
+    }
+
+    private void insertCoupons(List<ImportRowReader.Row<CouponImportRow>> rows) {
+        List<Object[]> coupons = rows.stream()
+                .map(ImportRowReader.Row::value)
+                .map(coupon -> new Object[]{UUID.randomUUID(), coupon.code(), coupon.discount(),
+                        new Timestamp(coupon.valid()), coupon.eventId(), coupon.maxUses(), coupon.perUserLimit()})
+                .toList();
+        this.jdbcTemplate.batchUpdate(INSERT_COUPON, coupons);
+        // Os eventos que receberam cupons passam a constar na próxima exportação incremental
+        List<Object[]> events = rows.stream()
+                .map(row -> row.value().eventId())
+                .distinct()
+                .map(eventId -> new Object[]{eventId})
+                .toList();
+        this.jdbcTemplate.batchUpdate(TOUCH_EVENT, events);
+        this.changeOutbox.appendAll(rows.stream()
+                .map(ImportRowReader.Row::value)
+                .map(coupon -> new ChangeOutbox.Entry(coupon.eventId(), EventChangedEvent.Type.COUPON_ADDED,
+                        new EventDetailsDTO.CouponDTO(coupon.code(), coupon.discount(), new Date(coupon.valid()))))
+                .toList());
+    }
+
+    private Set<UUID> existingEvents(List<ImportRowReader.Row<CouponImportRow>> chunk) {
+        Set<UUID> ids = chunk.stream().map(row -> row.value().eventId()).collect(Collectors.toSet());
+        return new HashSet<>(this.namedParameterJdbcTemplate.queryForList(EXISTING_EVENTS, Map.of("ids", ids), UUID.class));
+    }
+
+    /**
+     * Cupons do lote que já existem no banco, como chaves evento + código.
+     */
+    private Set<String> existingCoupons(List<ImportRowReader.Row<CouponImportRow>> chunk) {
+        Set<UUID> ids = chunk.stream().map(row -> row.value().eventId()).collect(Collectors.toSet());
+        Set<String> codes = chunk.stream().map(row -> row.value().code()).collect(Collectors.toSet());
+        Set<String> existing = new HashSet<>();
+        this.namedParameterJdbcTemplate.query(EXISTING_COUPONS, Map.of("ids", ids, "codes", codes),
+                (rs, rowNum) -> existing.add(couponKey(rs.getObject("event_id", UUID.class), rs.getString("code"))));
+        return existing;
+    }
+
+    private static String couponKey(UUID eventId, String code) {
+        return eventId + "/" + code;
+    }
+
+    private String validateEvent(EventImportRow row) {
+        if (isBlank(row.title()) || row.title().length() > 100) {
+            return "title é obrigatório (até 100 caracteres)";
+        }
+        if (row.description() == null || row.description().length() > 250) {
+            return "description é obrigatório (até 250 caracteres)";
+        }
+        if (row.date() == null) {
+            return "date é obrigatório";
+        }
+        if (row.remote() == null) {
+            return "remote é obrigatório";
+        }
+        if (isBlank(row.eventUrl()) || row.eventUrl().length() > 100) {
+            return "eventUrl é obrigatório (até 100 caracteres)";
+        }
+        if (row.imgUrl() != null && row.imgUrl().length() > 255) {
+            return "imgUrl deve ter até 255 caracteres";
+        }
+        if (!row.remote() && (isBlank(row.city()) || isBlank(row.state())
+                || row.city().length() > 100 || row.state().length() > 100)) {
+            return "city e state são obrigatórios para eventos presenciais (até 100 caracteres)";
+        }
+        return null;
+    }
+
+    private String validateCoupon(CouponImportRow row) {
+        if (row.eventId() == null) {
+            return "eventId é obrigatório";
+        }
+        if (isBlank(row.code()) || row.code().length() > 100) {
+            return "code é obrigatório (até 100 caracteres)";
+        }
+        if (row.discount() == null) {
+            return "discount é obrigatório";
+        }
+        if (row.valid() == null) {
+            return "valid é obrigatório";
+        }
+        if ((row.maxUses() != null && row.maxUses() <= 0) || (row.perUserLimit() != null && row.perUserLimit() <= 0)) {
+            return "maxUses e perUserLimit devem ser positivos";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Acumula o resultado da importação; apenas os primeiros erros são detalhados.
+     */
+    private static class Report {
+        private long received;
+        private long imported;
+        private long errorCount;
+        private final List<BulkImportErrorDTO> errors = new ArrayList<>();
+
+        void imported(int rows) {
+            imported += rows;
+        }
+
+        void fail(long line, String message) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BulkImportErrorDTO(line, message));
+            }
+        }
+
+        BulkImportReportDTO toDTO() {
+            return new BulkImportReportDTO(received, imported, errorCount, errors);
+        }
+    }
+}
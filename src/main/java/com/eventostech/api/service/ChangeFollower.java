@@ -0,0 +1,71 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.change.ChangeDTO;
+import com.eventostech.api.domain.event.EventChangedEvent;
+import com.eventostech.api.repositories.ChangeEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Acompanha o fluxo de alterações publicadas (outbox) e as repassa às estruturas em memória deste nó
+ * (snapshot de eventos futuros, caches, índices e versão dos dados) como EventChangedEvent.
+ * As alterações feitas neste nó já são notificadas após o commit; as feitas por outros nós só chegam
+ * por aqui. Reprocessar uma alteração local é inofensivo: os ouvintes apenas recarregam o evento.
+ */
+@Component
+public class ChangeFollower {
+
+    @Autowired
+    private ChangeEventRepository repository; // Leitura das alterações publicadas
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Repasse das alterações aos ouvintes locais
+
+    @Autowired
+    private EventDataVersion eventDataVersion; // Versão dos dados, avançada a cada alteração aplicada
+
+    @Value("${changes.follow.batch-size}")
+    private int batchSize; // Alterações lidas por consulta
+
+    private volatile long position = -1; // Última sequência repassada (-1 até a inicialização)
+
+    /**
+     * Posiciona o acompanhamento na última sequência publicada. Executa antes das cargas iniciais dos
+     * snapshots, para que nenhuma alteração publicada durante a carga fique sem ser repassada.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        position = repository.findLastPublishedSeq();
+        eventDataVersion.followed(position, null);
+    }
+
+    /**
+     * Repassa as alterações publicadas desde a última execução.
+     */
+    @Scheduled(initialDelayString = "${changes.follow.interval}", fixedDelayString = "${changes.follow.interval}")
+    public synchronized void follow() {
+        if (position < 0) {
+            return;
+        }
+        List<ChangeDTO> changes;
+        do {
+            changes = repository.findPublishedAfter(position, PageRequest.of(0, batchSize));
+            for (ChangeDTO change : changes) {
+                eventPublisher.publishEvent(new EventChangedEvent(change.eventId(), change.type()));
+                position = change.seq();
+                eventDataVersion.followed(change.seq(), change.eventId());
+            }
+        } while (changes.size() == batchSize);
+    }
+}
@@ -0,0 +1,105 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.event.EventChangedEvent;
+import com.eventostech.api.repositories.EventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Grava as alterações de eventos e cupons na outbox (tabela change_event), sempre dentro da
+ * transação que faz a alteração: a alteração e seu registro são confirmados ou descartados juntos.
+ * Após o commit, o relay é acionado para publicar as alterações sem esperar o próximo ciclo.
+ */
+@Component
+public class ChangeOutbox {
+
+    private static final String INSERT_CHANGE =
+            "INSERT INTO change_event (event_id, change_type, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    /**
+     * Alteração a ser registrada.
+     *
+     * @param eventId ID do evento alterado (ou dono do cupom).
+     * @param type    Tipo da alteração.
+     * @param payload Estado após a alteração, serializado em JSON.
+     */
+    public record Entry(UUID eventId, EventChangedEvent.Type type, Object payload) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate; // Gravação dos registros, em batch na importação
+
+    @Autowired
+    private EventRepository eventRepository; // Leitura do estado do evento alterado
+
+    @Autowired
+    private ObjectMapper objectMapper; // Serialização dos payloads
+
+    @Autowired
+    private ChangeRelay changeRelay; // Acionado após o commit das alterações
+
+    /**
+     * Registra a alteração de um evento, com o evento no estado atual da transação como payload.
+     *
+     * @param eventId ID do evento.
+     * @param type    Tipo da alteração (EVENT_CREATED ou EVENT_UPDATED).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendEvent(UUID eventId, EventChangedEvent.Type type) {
+        this.append(new Entry(eventId, type, eventRepository.findResponseById(eventId).orElse(null)));
+    }
+
+    /**
+     * Registra uma alteração.
+     *
+     * @param entry Alteração a ser registrada.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Entry entry) {
+        this.appendAll(List.of(entry));
+    }
+
+    /**
+     * Registra várias alterações com um único batch.
+     *
+     * @param entries Alterações a serem registradas, na ordem em que ocorreram.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = entries.stream()
+                .map(entry -> new Object[]{entry.eventId(), entry.type().name(), this.toJson(entry.payload()), now})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_CHANGE, rows);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changeRelay.nudge();
+            }
+        });
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return payload != null ? objectMapper.writeValueAsString(payload) : null;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.change.ChangeBatchDTO;
+import com.eventostech.api.domain.change.ChangeDTO;
+import com.eventostech.api.domain.change.ChangeEvent;
+import com.eventostech.api.repositories.ChangeEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Relay da outbox e fluxo de alterações para os consumidores.
+ * O relay lê as alterações pendentes em lotes, na ordem de gravação, e atribui a cada uma a próxima
+ * sequência publicada: os consumidores leem por sequência, sem lacunas, e retomam do último número
+ * que processaram. Leituras sem alterações novas aguardam (long-polling) até a próxima publicação
+ * ou o fim da espera. O relay roda periodicamente em todos os nós, o que também faz as esperas de
+ * um nó perceberem publicações feitas por outro.
+ */
+@Slf4j
+@Component
+public class ChangeRelay {
+
+    @Autowired
+    private ChangeEventRepository repository; // Repositório da outbox
+
+    @Autowired
+    private TransactionTemplate transactionTemplate; // Transação de cada lote publicado
+
+    @Value("${changes.relay.batch-size}")
+    private int batchSize; // Alterações publicadas por transação
+
+    @Value("${changes.retention}")
+    private Duration retention; // Tempo que as alterações publicadas ficam disponíveis para leitura
+
+    private final ExecutorService nudges = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("change-relay").factory());
+    private final AtomicBoolean nudgePending = new AtomicBoolean();
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet(); // Leituras aguardando novas alterações
+    private volatile long lastSeq = -1; // Última sequência publicada conhecida por este nó
+
+    /**
+     * Leitura aguardando alterações depois de uma sequência.
+     */
+    private record Waiter(long after, int limit, CompletableFuture<ChangeBatchDTO> result) {
+    }
+
+    /**
+     * Lê as alterações publicadas depois da sequência informada, aguardando até o tempo limite se
+     * ainda não houver nenhuma.
+     *
+     * @param after Última sequência já processada pelo consumidor (0 para ler desde o início).
+     * @param limit Máximo de alterações devolvidas.
+     * @param wait  Tempo máximo de espera por novas alterações (zero para não aguardar).
+     * @return Lote com as alterações (vazio se o tempo acabar) e a sequência da próxima leitura.
+     */
+    public CompletableFuture<ChangeBatchDTO> poll(long after, int limit, Duration wait) {
+        ChangeBatchDTO batch = this.read(after, limit);
+        if (!batch.changes().isEmpty() || wait.isZero()) {
+            return CompletableFuture.completedFuture(batch);
+        }
+
+        Waiter waiter = new Waiter(after, limit, new CompletableFuture<>());
+        waiters.add(waiter);
+        waiter.result().whenComplete((result, error) -> waiters.remove(waiter));
+        CompletableFuture.delayedExecutor(wait.toMillis(), TimeUnit.MILLISECONDS)
+                .execute(() -> waiter.result().complete(new ChangeBatchDTO(List.of(), after)));
+
+        // Uma publicação entre a leitura e o registro da espera não seria notificada
+        if (lastSeq > after) {
+            this.complete(waiter);
+        }
+        return waiter.result();
+    }
+
+    /**
+     * Agenda a publicação imediata das alterações recém-confirmadas. Acionamentos enquanto uma
+     * publicação já está agendada são agrupados.
+     */
+    public void nudge() {
+        if (nudgePending.compareAndSet(false, true)) {
+            nudges.execute(() -> {
+                nudgePending.set(false);
+                this.drain();
+            });
+        }
+    }
+
+    /**
+     * Publica as alterações pendentes e notifica as leituras em espera se a última sequência avançou.
+     */
+    @Scheduled(fixedDelayString = "${changes.relay.interval}")
+    public synchronized void drain() {
+        try {
+            int published;
+            do {
+                published = this.publishBatch();
+            } while (published == batchSize);
+
+            long head = repository.findLastPublishedSeq();
+            if (head > lastSeq) {
+                lastSeq = head;
+                waiters.stream().filter(waiter -> waiter.after() < head).forEach(this::complete);
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha ao publicar alterações da outbox", e);
+        }
+    }
+
+    /**
+     * Remove as alterações publicadas há mais tempo que a retenção.
+     */
+    @Scheduled(fixedDelayString = "${changes.purge-interval}")
+    public void purge() {
+        int removed = repository.deletePublishedBefore(new Date(System.currentTimeMillis() - retention.toMillis()));
+        log.debug("{} alterações removidas da outbox", removed);
+    }
+
+    /**
+     * Publica um lote em uma transação. As sequências continuam a partir da maior já publicada, lida
+     * depois de obter o bloqueio das pendentes; a restrição única da sequência protege contra
+     * publicações concorrentes de outros nós.
+     *
+     * @return Quantidade de alterações publicadas.
+     */
+    private int publishBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<ChangeEvent> pending = repository.findUnpublished(PageRequest.of(0, batchSize));
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            long seq = repository.findLastPublishedSeq();
+            Date now = new Date();
+            for (ChangeEvent change : pending) {
+                change.setPublishedSeq(++seq);
+                change.setPublishedAt(now);
+            }
+            return pending.size();
+        });
+        return published != null ? published : 0;
+    }
+
+    private void complete(Waiter waiter) {
+        if (!waiter.result().isDone()) {
+            waiter.result().complete(this.read(waiter.after(), waiter.limit()));
+        }
+    }
+
+    private ChangeBatchDTO read(long after, int limit) {
+        List<ChangeDTO> changes = repository.findPublishedAfter(after, PageRequest.of(0, limit));
+        long next = changes.isEmpty() ? after : changes.get(changes.size() - 1).seq();
+        return new ChangeBatchDTO(changes, next);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        nudges.shutdown();
+    }
+}
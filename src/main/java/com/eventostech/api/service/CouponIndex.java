@@ -0,0 +1,183 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.config.ReadYourWrites;
+import com.eventostech.api.domain.event.EventChangedEvent;
+import com.eventostech.api.domain.event.EventDetailsDTO;
+import com.eventostech.api.repositories.CouponRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Índice em memória dos cupons válidos (não expirados nem esgotados) por evento. Cada evento guarda seus cupons em vetores
+ * paralelos ordenados pela expiração, então "válidos agora" é uma busca binária pelo primeiro
+ * cupom que ainda não expirou, sem consultar o banco nem filtrar a lista a cada leitura.
+ * Eventos sem cupons também ficam no índice (vazios), evitando a consulta nesses casos.
+ * O índice é recarregado do banco quando os cupons do evento mudam (cupom adicionado ou esgotado,
+ * neste nó ou em outros, pelo fluxo de alterações), e os cupons expirados são removidos periodicamente.
+ * Cada entrada também expira após cache.coupon-index.ttl, limitando o tempo de uma entrada
+ * desatualizada se alguma alteração não for notificada.
+ */
+@Component
+public class CouponIndex {
+
+    @Autowired
+    private CouponRepository couponRepository; // Repositório usado para carregar os cupons de um evento
+
+    private final Cache<UUID, EventCoupons> index;
+
+    @Autowired
+    public CouponIndex(MeterRegistry meterRegistry, @Value("${cache.coupon-index.max-size}") long maxSize,
+                       @Value("${cache.coupon-index.ttl}") Duration ttl) {
+        this(meterRegistry, maxSize, ttl, Ticker.systemTicker());
+    }
+
+    CouponIndex(MeterRegistry meterRegistry, long maxSize, Duration ttl, Ticker ticker) {
+        this.index = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, index, "couponIndex");
+    }
+
+    /**
+     * Obtém os cupons válidos de um evento no instante informado, carregando o evento no índice se necessário.
+     * O chamador deve conferir antes que o evento existe: um ID desconhecido também seria indexado (vazio).
+     *
+     * @param eventId ID do evento.
+     * @param now     Instante de referência.
+     * @return Cupons com expiração posterior ao instante, ordenados pela expiração.
+     */
+    public List<EventDetailsDTO.CouponDTO> validCoupons(UUID eventId, Date now) {
+        return index.get(eventId, this::load).validAt(now.getTime());
+    }
+
+    /**
+     * Recarrega os cupons do evento alterado, se ele estiver no índice. Executado após o commit da
+     * transação, para não carregar cupons ainda não confirmados.
+     *
+     * @param event Notificação de alteração do evento.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        if (event.type().isCouponChange()) {
+            index.asMap().computeIfPresent(event.eventId(), (eventId, current) -> this.load(eventId));
+        } else if (event.type() == EventChangedEvent.Type.EVENT_ARCHIVED) {
+            index.invalidate(event.eventId());
+        }
+    }
+
+    /**
+     * Remove dos eventos indexados os cupons já expirados, liberando memória. Só reescreve as entradas
+     * que de fato perderam cupons: cada escrita reinicia a expiração da entrada (cache.coupon-index.ttl),
+     * que deixaria de ocorrer se todas fossem reescritas a cada execução.
+     */
+    @Scheduled(fixedDelayString = "${cache.coupon-index.evict-interval}")
+    public void evictExpiredCoupons() {
+        long now = System.currentTimeMillis();
+        index.asMap().forEach((eventId, coupons) -> {
+            if (coupons.trimmedAt(now) != coupons) {
+                index.asMap().computeIfPresent(eventId, (id, current) -> current.trimmedAt(now));
+            }
+        });
+    }
+
+    /**
+     * Carrega os cupons do evento do primário: uma réplica atrasada deixaria no índice os cupons
+     * anteriores a uma alteração recém-notificada.
+     */
+    private EventCoupons load(UUID eventId) {
+        return ReadYourWrites.fromPrimary(() -> EventCoupons.of(couponRepository.findValidCoupons(eventId, new Date())));
+    }
+
+    /**
+     * Cupons de um evento em vetores paralelos, ordenados pela expiração (imutável).
+     */
+    private record EventCoupons(long[] validUntil, String[] codes, int[] discounts) {
+
+        private static final EventCoupons EMPTY = new EventCoupons(new long[0], new String[0], new int[0]);
+
+        static EventCoupons of(List<EventDetailsDTO.CouponDTO> sorted) {
+            if (sorted.isEmpty()) {
+                return EMPTY;
+            }
+            long[] validUntil = new long[sorted.size()];
+            String[] codes = new String[sorted.size()];
+            int[] discounts = new int[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                EventDetailsDTO.CouponDTO coupon = sorted.get(i);
+                validUntil[i] = coupon.validUntil().getTime();
+                codes[i] = coupon.code();
+                discounts[i] = coupon.discount();
+            }
+            return new EventCoupons(validUntil, codes, discounts);
+        }
+
+        /**
+         * Posição do primeiro cupom com expiração posterior ao instante (busca binária).
+         */
+        int firstValid(long now) {
+            int low = 0;
+            int high = validUntil.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (validUntil[mid] <= now) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        List<EventDetailsDTO.CouponDTO> validAt(long now) {
+            int first = this.firstValid(now);
+            int size = validUntil.length - first;
+            return new AbstractList<>() {
+                @Override
+                public EventDetailsDTO.CouponDTO get(int i) {
+                    int position = first + i;
+                    return new EventDetailsDTO.CouponDTO(codes[position], discounts[position], new Date(validUntil[position]));
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+
+        EventCoupons trimmedAt(long now) {
+            int first = this.firstValid(now);
+            if (first == 0) {
+                return this;
+            }
+            if (first == validUntil.length) {
+                return EMPTY;
+            }
+            return new EventCoupons(
+                    Arrays.copyOfRange(validUntil, first, validUntil.length),
+                    Arrays.copyOfRange(codes, first, codes.length),
+                    Arrays.copyOfRange(discounts, first, discounts.length));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.eventostech.api.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Indica que o evento informado não possui cupom com o código informado.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class CouponNotFoundException extends IllegalArgumentException {
+
+    public CouponNotFoundException() {
+        super("Cupom não encontrado");
+    }
+}
@@ -0,0 +1,15 @@
+package com.eventostech.api.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Indica que um cupom existe, mas não pode ser resgatado (expirado, esgotado ou limite do usuário atingido).
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class CouponRedemptionException extends RuntimeException {
+
+    public CouponRedemptionException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,22 @@
 package com.eventostech.api.service;
 
+import com.eventostech.api.config.ReadYourWrites;
 import com.eventostech.api.domain.coupon.Coupon;
+import com.eventostech.api.domain.coupon.CouponRedemption;
+import com.eventostech.api.domain.coupon.CouponRedemptionDTO;
 import com.eventostech.api.domain.coupon.CouponRequestDTO;
+import com.eventostech.api.domain.coupon.CouponValidationDTO;
 import com.eventostech.api.domain.event.Event;
+import com.eventostech.api.domain.event.EventChangedEvent;
+import com.eventostech.api.domain.event.EventDetailsDTO;
+import com.eventostech.api.repositories.CouponRedemptionRepository;
 import com.eventostech.api.repositories.CouponRepository;
 import com.eventostech.api.repositories.EventRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
@@ -21,25 +31,55 @@ public class CouponService {
     @Autowired
     private CouponRepository couponRepository; // Repositório para operações de cupons
 
+    @Autowired
+    private CouponRedemptionRepository redemptionRepository; // Repositório dos resgates de cupons
+
+    @Autowired
+    private ChangeOutbox changeOutbox; // Registro das alterações para os consumidores externos
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Publica notificações de alteração de eventos
+
     /**
-     * Adiciona um cupom a um evento específico.
+     * Adiciona um cupom a um evento específico. A unicidade do código no evento é garantida pelo índice
+     * único (event_id, code): entre cadastros concorrentes do mesmo código, apenas um é gravado.
      *
      * @param eventId    ID do evento ao qual o cupom será adicionado.
      * @param couponData Dados do cupom a serem adicionados.
      * @return O cupom adicionado.
-     * @throws IllegalArgumentException Se o evento não for encontrado.
+     * @throws EventNotFoundException    Se o evento não for encontrado.
+     * @throws InvalidCouponException   Se os limites de uso não forem positivos.
+     * @throws DuplicateCouponException Se o código já existir no evento.
      */
+    @Transactional
     public Coupon addCouponToEvent(UUID eventId, CouponRequestDTO couponData) {
+        if ((couponData.maxUses() != null && couponData.maxUses() <= 0)
+                || (couponData.perUserLimit() != null && couponData.perUserLimit() <= 0)) {
+            throw new InvalidCouponException("Limites de uso do cupom devem ser positivos");
+        }
         Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new IllegalArgumentException("Evento não encontrado"));
+                .orElseThrow(EventNotFoundException::new);
 
         Coupon coupon = new Coupon();
         coupon.setCode(couponData.code());
         coupon.setDiscount(couponData.discount());
         coupon.setValid(new Date(couponData.valid()));
+        coupon.setMaxUses(couponData.maxUses());
+        coupon.setPerUserLimit(couponData.perUserLimit());
         coupon.setEvent(event);
 
-        return couponRepository.save(coupon);
+        Coupon savedCoupon;
+        try {
+            // Grava já, para que a violação do índice único seja tratada aqui e não no commit
+            savedCoupon = couponRepository.saveAndFlush(coupon);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateCouponException();
+        }
+        eventRepository.touch(eventId);
+        changeOutbox.append(new ChangeOutbox.Entry(eventId, EventChangedEvent.Type.COUPON_ADDED,
+                new EventDetailsDTO.CouponDTO(savedCoupon.getCode(), savedCoupon.getDiscount(), savedCoupon.getValid())));
+        eventPublisher.publishEvent(new EventChangedEvent(eventId, EventChangedEvent.Type.COUPON_ADDED));
+        return savedCoupon;
     }
 
     /**
@@ -47,10 +87,87 @@ public class CouponService {
      *
      * @param eventId     ID do evento para o qual os cupons serão consultados.
      * @param currentDate Data atual para verificar a validade dos cupons.
-     * @return Lista de cupons válidos para o evento e data fornecidos.
+     * @return Lista de cupons válidos para o evento e data fornecidos (lidos do primário, já que o
+     *         resultado reflete resgates e cupons recém-adicionados).
      */
+    @Transactional(readOnly = true)
     public List<Coupon> consultCoupons(UUID eventId, Date currentDate) {
-        return couponRepository.findByEventIdAndValidAfter(eventId, currentDate);
+        return ReadYourWrites.fromPrimary(() -> couponRepository.findByEventIdAndValidAfter(eventId, currentDate));
     }
-}
 
+    /**
+     * Verifica se um cupom pode ser resgatado, sem registrar uso. O resultado é indicativo: o resgate
+     * confere novamente os limites de forma atômica.
+     *
+     * @param eventId ID do evento.
+     * @param code    Código do cupom.
+     * @param userId  Usuário que pretende resgatar (opcional; necessário para conferir o limite por usuário).
+     * @return Dados do cupom, usos restantes e se ele pode ser resgatado (com o motivo, caso contrário).
+     * @throws CouponNotFoundException Se o cupom não for encontrado.
+     */
+    public CouponValidationDTO validateCoupon(UUID eventId, String code, String userId) {
+        Coupon coupon = couponRepository.findByEventIdAndCode(eventId, code)
+                .orElseThrow(CouponNotFoundException::new);
+
+        String reason = null;
+        if (!coupon.getValid().after(new Date())) {
+            reason = "Cupom expirado";
+        } else if (coupon.getMaxUses() != null && coupon.getUses() >= coupon.getMaxUses()) {
+            reason = "Cupom esgotado";
+        } else if (coupon.getPerUserLimit() != null && userId != null
+                && redemptionRepository.countByCouponIdAndUserId(coupon.getId(), userId) >= coupon.getPerUserLimit()) {
+            reason = "Limite de resgates do usuário atingido";
+        }
+        return new CouponValidationDTO(coupon.getCode(), coupon.getDiscount(), coupon.getValid(),
+                this.remainingUses(coupon.getMaxUses(), coupon.getUses()), reason == null, reason);
+    }
+
+    /**
+     * Resgata um cupom, registrando um uso. O contador é incrementado por um UPDATE condicional, que
+     * bloqueia a linha do cupom até o commit; com isso, a contagem por usuário feita em seguida também
+     * é serializada entre resgates concorrentes. Se o limite do usuário já tiver sido atingido, a
+     * transação é desfeita, devolvendo o uso. O resgate que esgota o cupom registra a alteração
+     * COUPON_EXHAUSTED, que o retira dos cupons válidos exibidos nos detalhes do evento.
+     *
+     * @param eventId ID do evento.
+     * @param code    Código do cupom.
+     * @param userId  Usuário que resgata (obrigatório se o cupom tiver limite por usuário).
+     * @return Dados do resgate e usos restantes.
+     * @throws CouponNotFoundException  Se o cupom não for encontrado.
+     * @throws CouponRedemptionException Se o cupom estiver expirado ou esgotado, ou o limite do usuário tiver sido atingido.
+     */
+    @Transactional
+    public CouponRedemptionDTO redeemCoupon(UUID eventId, String code, String userId) {
+        Coupon coupon = couponRepository.findByEventIdAndCode(eventId, code)
+                .orElseThrow(CouponNotFoundException::new);
+        if (!coupon.getValid().after(new Date())) {
+            throw new CouponRedemptionException("Cupom expirado");
+        }
+        if (coupon.getPerUserLimit() != null && userId == null) {
+            throw new CouponRedemptionException("Usuário obrigatório para este cupom");
+        }
+
+        if (couponRepository.incrementUses(coupon.getId()) == 0) {
+            throw new CouponRedemptionException("Cupom esgotado");
+        }
+        if (coupon.getPerUserLimit() != null
+                && redemptionRepository.countByCouponIdAndUserId(coupon.getId(), userId) >= coupon.getPerUserLimit()) {
+            throw new CouponRedemptionException("Limite de resgates do usuário atingido");
+        }
+
+        CouponRedemption redemption = redemptionRepository.save(new CouponRedemption(null, coupon, userId, new Date()));
+        int uses = couponRepository.findUsesById(coupon.getId());
+        if (coupon.getMaxUses() != null && uses >= coupon.getMaxUses()) {
+            // O último uso retira o cupom da lista de válidos do evento
+            changeOutbox.append(new ChangeOutbox.Entry(eventId, EventChangedEvent.Type.COUPON_EXHAUSTED,
+                    new EventDetailsDTO.CouponDTO(coupon.getCode(), coupon.getDiscount(), coupon.getValid())));
+            eventPublisher.publishEvent(new EventChangedEvent(eventId, EventChangedEvent.Type.COUPON_EXHAUSTED));
+        }
+        return new CouponRedemptionDTO(redemption.getId(), coupon.getCode(), coupon.getDiscount(),
+                this.remainingUses(coupon.getMaxUses(), uses));
+    }
+
+    private Integer remainingUses(Integer maxUses, int uses) {
+        return maxUses != null ? Math.max(0, maxUses - uses) : null;
+    }
+}
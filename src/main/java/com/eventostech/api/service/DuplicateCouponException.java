@@ -0,0 +1,15 @@
+package com.eventostech.api.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Indica que o evento já possui um cupom com o código informado.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateCouponException extends IllegalArgumentException {
+
+    public DuplicateCouponException() {
+        super("Cupom já cadastrado para o evento");
+    }
+}
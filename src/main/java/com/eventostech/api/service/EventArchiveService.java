@@ -0,0 +1,120 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.event.EventChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Arquivamento dos eventos que já passaram e dos cupons vencidos. As tabelas quentes (event, coupon)
+ * ficam restritas aos dados que as listagens e filtros consultam; o que passou do período de carência
+ * é movido, em lotes, para as tabelas de arquivo particionadas por mês (event_archive, coupon_archive),
+ * pelas funções criadas na migração V14. Cada lote é uma transação curta, que trava apenas as linhas
+ * movidas (FOR UPDATE SKIP LOCKED), e só um nó arquiva por vez.
+ * Disponível apenas no PostgreSQL; em outros bancos (ex.: H2 nos testes) o job não faz nada.
+ */
+@Slf4j
+@Service
+public class EventArchiveService {
+
+    private static final String ARCHIVE_EVENTS = "SELECT * FROM archive_past_events(?, ?)";
+    private static final String ARCHIVE_COUPONS = "SELECT archive_expired_coupons(?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate; // Execução das funções de arquivamento
+
+    @Autowired
+    private TransactionTemplate transactionTemplate; // Transação de cada lote arquivado
+
+    @Autowired
+    private ChangeOutbox changeOutbox; // Registro dos eventos arquivados no fluxo de alterações
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Notificação para invalidar caches
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory; // Usado para identificar o dialeto do banco
+
+    @Value("${archive.enabled}")
+    private boolean enabled; // Se falso, nada é arquivado
+
+    @Value("${archive.after}")
+    private Duration after; // Tempo após a data do evento (ou validade do cupom) até o arquivamento
+
+    @Value("${archive.batch-size}")
+    private int batchSize; // Eventos (ou cupons) movidos por transação
+
+    private volatile Boolean postgres; // Resolvido na primeira execução a partir do dialeto do Hibernate
+
+    /**
+     * Arquiva, em lotes, os eventos e cupons que passaram do período de carência.
+     */
+    @Scheduled(initialDelayString = "${archive.interval}", fixedDelayString = "${archive.interval}")
+    public void archive() {
+        if (!enabled || !this.isPostgres()) {
+            return;
+        }
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - after.toMillis());
+
+        long events = 0;
+        int archived;
+        do {
+            archived = this.archiveEventBatch(cutoff);
+            events += archived;
+        } while (archived == batchSize);
+
+        long coupons = 0;
+        do {
+            archived = this.archiveCouponBatch(cutoff);
+            coupons += archived;
+        } while (archived == batchSize);
+
+        if (events > 0 || coupons > 0) {
+            log.info("Arquivados {} eventos e {} cupons anteriores a {}", events, coupons, cutoff);
+        }
+    }
+
+    /**
+     * Move um lote de eventos para o arquivo. O arquivamento é registrado na outbox e notificado aos
+     * caches na mesma transação, para que consumidores e caches nunca vejam um evento que já saiu.
+     */
+    private int archiveEventBatch(Timestamp cutoff) {
+        Integer archived = transactionTemplate.execute(status -> {
+            List<UUID> ids = jdbcTemplate.queryForList(ARCHIVE_EVENTS, UUID.class, cutoff, batchSize);
+            changeOutbox.appendAll(ids.stream()
+                    .map(id -> new ChangeOutbox.Entry(id, EventChangedEvent.Type.EVENT_ARCHIVED, null))
+                    .toList());
+            ids.forEach(id -> eventPublisher.publishEvent(new EventChangedEvent(id, EventChangedEvent.Type.EVENT_ARCHIVED)));
+            return ids.size();
+        });
+        return archived != null ? archived : 0;
+    }
+
+    private int archiveCouponBatch(Timestamp cutoff) {
+        Integer archived = transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject(ARCHIVE_COUPONS, Integer.class, cutoff, batchSize));
+        return archived != null ? archived : 0;
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect() instanceof PostgreSQLDialect;
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,81 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.event.EventChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versão do conjunto de dados de eventos, usada para gerar as ETags das leituras sem serializar nem
+ * calcular hash das respostas. A versão é a última sequência do fluxo de alterações (outbox) aplicada
+ * neste nó, compartilhada por todos os nós: nós que já aplicaram a mesma sequência geram a mesma ETag.
+ * Alterações locais ainda não vistas no fluxo acrescentam à ETag uma parte própria do nó, para que a
+ * resposta já atualizada nunca receba a ETag de um conteúdo anterior.
+ */
+@Component
+public class EventDataVersion {
+
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong localVersion = new AtomicLong(); // Avança a cada alteração aplicada neste nó
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet(); // Eventos alterados ainda não vistos no fluxo
+    private volatile boolean dirty; // Conteúdo recarregado localmente desde a última sequência aplicada
+    private volatile long sequence; // Última sequência do fluxo de alterações aplicada neste nó
+
+    /**
+     * Gera uma ETag fraca para a versão atual.
+     *
+     * @param qualifier Parte adicional que também determina o conteúdo da resposta (pode ser vazia).
+     * @return ETag no formato W/"sequência[-instância-versão local][-qualificador]".
+     */
+    public String eTag(String qualifier) {
+        long local = localVersion.get();
+        String tag = "s" + sequence;
+        if (dirty || !pending.isEmpty()) {
+            tag = tag + "-" + instanceId + "-" + local;
+        }
+        return "W/\"" + (qualifier.isEmpty() ? tag : tag + "-" + qualifier) + "\"";
+    }
+
+    /**
+     * Registra uma alteração de conteúdo feita apenas neste nó (por exemplo, uma recarga a partir do
+     * banco), válida até a próxima sequência aplicada.
+     */
+    public void bump() {
+        dirty = true;
+        localVersion.incrementAndGet();
+    }
+
+    /**
+     * Registra que o fluxo de alterações foi aplicado até a sequência informada.
+     *
+     * @param seq     Sequência aplicada.
+     * @param eventId Evento da alteração aplicada (nulo no posicionamento inicial).
+     */
+    public void followed(long seq, UUID eventId) {
+        if (eventId != null) {
+            pending.remove(eventId);
+        }
+        dirty = false;
+        sequence = seq;
+    }
+
+    /**
+     * Avança a versão local quando um evento ou cupom muda. Executa depois dos demais ouvintes (caches e
+     * snapshot), para que uma nova ETag nunca seja associada a um conteúdo ainda desatualizado.
+     * A alteração fica pendente até ser vista no fluxo de alterações.
+     *
+     * @param event Notificação de alteração do evento.
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        pending.add(event.eventId());
+        localVersion.incrementAndGet();
+    }
+}
@@ -0,0 +1,64 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.event.EventChangedEvent;
+import com.eventostech.api.domain.event.EventDetailsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Cache em memória (read-through) dos detalhes de eventos, sem os cupons: os cupons válidos vêm do
+ * CouponIndex a cada leitura, então a inclusão ou expiração de cupons não invalida este cache.
+ * Entradas são invalidadas quando o evento muda.
+ */
+@Component
+public class EventDetailsCache {
+
+    private final Cache<UUID, EventDetailsDTO> cache;
+
+    public EventDetailsCache(MeterRegistry meterRegistry,
+                             @Value("${cache.event-details.max-size}") long maxSize,
+                             @Value("${cache.event-details.ttl}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "eventDetails");
+    }
+
+    /**
+     * Obtém os detalhes do evento, carregando-os com a função informada em caso de ausência no cache.
+     *
+     * @param eventId ID do evento.
+     * @param loader  Função que carrega os detalhes do banco (sem os cupons).
+     * @return Detalhes do evento, sem os cupons.
+     */
+    public EventDetailsDTO get(UUID eventId, Function<UUID, EventDetailsDTO> loader) {
+        return cache.get(eventId, loader);
+    }
+
+    /**
+     * Remove a entrada do evento alterado. Executado após o commit da transação que fez a alteração
+     * (ou imediatamente, se não houver transação), para não recarregar dados ainda não confirmados.
+     *
+     * @param event Notificação de alteração do evento.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        if (!event.type().isCouponChange()) {
+            cache.invalidate(event.eventId());
+        }
+    }
+}
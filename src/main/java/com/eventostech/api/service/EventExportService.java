@@ -0,0 +1,224 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.event.EventExportDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Exportação do catálogo de eventos (com endereço e cupons válidos) em NDJSON ou CSV, escrita
+ * diretamente de um cursor JDBC somente-avanço: as linhas são lidas em blocos de tamanho fixo e cada
+ * evento é escrito assim que sua última linha é lida, então a memória usada não depende do tamanho
+ * da tabela. A leitura ocorre em uma transação somente leitura, necessária para que o driver do
+ * PostgreSQL respeite o fetch size em vez de carregar o resultado inteiro.
+ */
+@Service
+public class EventExportService {
+
+    private static final String EXPORT_EVENTS =
+            "SELECT e.id, e.title, e.description, e.date, e.remote, e.event_url, e.img_url, e.updated_at, " +
+            "a.city, a.uf, c.code, c.discount, c.valid " +
+            "FROM event e " +
+            "LEFT JOIN address a ON a.event_id = e.id " +
+            "LEFT JOIN coupon c ON c.event_id = e.id AND c.valid >= ? " +
+            "WHERE e.updated_at > ? AND e.updated_at <= ? " +
+            "ORDER BY e.updated_at, e.id, c.valid, c.code";
+
+    private static final String DATABASE_NOW = "SELECT LOCALTIMESTAMP";
+
+    private static final String CSV_HEADER = "id,title,description,date,city,state,remote,eventUrl,imgUrl,updatedAt,coupons";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate; // Execução da consulta com cursor
+
+    @Autowired
+    private ObjectMapper objectMapper; // Serialização das linhas NDJSON
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${export.fetch-size}")
+    private int fetchSize; // Linhas lidas do banco por ida ao servidor
+
+    @Value("${export.watermark-lag}")
+    private Duration watermarkLag; // Margem para transações ainda não confirmadas no fim da janela
+
+    public EventExportService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Calcula o fim da janela de uma exportação iniciada agora. Usa o relógio do banco, o mesmo que grava
+     * a data de alteração dos eventos, para que a diferença entre relógios de nós não cause lacunas nem
+     * repetições entre janelas. Fica um pouco no passado porque a data de alteração é gravada antes do
+     * commit: uma alteração ainda não confirmada entra na janela seguinte em vez de ser perdida. O valor
+     * é devolvido ao cliente para ser usado como "since" na próxima exportação incremental.
+     *
+     * @return Limite superior (inclusivo) da data de alteração, em epoch millis.
+     */
+    public long watermark() {
+        Timestamp now = jdbcTemplate.queryForObject(DATABASE_NOW, Timestamp.class);
+        return now.getTime() - watermarkLag.toMillis();
+    }
+
+    /**
+     * Escreve os eventos alterados na janela (since, until], em ordem de alteração.
+     *
+     * @param format Formato da saída.
+     * @param since  Data de alteração já exportada (exclusiva), em epoch millis; 0 para o catálogo inteiro.
+     * @param until  Fim da janela (inclusivo), obtido de {@link #watermark()}.
+     * @param output Destino da exportação (não é fechado).
+     * @return Quantidade de eventos escritos.
+     * @throws IOException Se houver erro de escrita (ex.: cliente desconectado).
+     */
+    public long export(ImportFormat format, long since, long until, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        try {
+            long count = format == ImportFormat.CSV ? this.exportCsv(since, until, writer) : this.exportNdjson(since, until, writer);
+            writer.flush();
+            return count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long exportNdjson(long since, long until, Writer writer) throws IOException {
+        ObjectWriter json = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            return this.read(since, until, event -> {
+                try {
+                    json.writeValue(generator, event);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private long exportCsv(long since, long until, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        return this.read(since, until, event -> {
+            try {
+                writer.write(toCsv(event));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Percorre o cursor agrupando as linhas de cada evento (uma por cupom válido, consecutivas pela
+     * ordenação) e entrega cada evento completo ao consumidor.
+     */
+    private long read(long since, long until, Consumer<EventExportDTO> consumer) {
+        Long count = readOnlyTransaction.execute(status -> {
+            EventGroup group = new EventGroup(consumer);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_EVENTS,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+                statement.setTimestamp(2, new Timestamp(since));
+                statement.setTimestamp(3, new Timestamp(until));
+                return statement;
+            }, group::accept);
+            group.flush();
+            return group.count;
+        });
+        return count != null ? count : 0;
+    }
+
+    private static String toCsv(EventExportDTO event) {
+        String coupons = event.coupons().stream()
+                .map(coupon -> coupon.code() + ":" + coupon.discount() + ":" + coupon.valid())
+                .collect(Collectors.joining("|"));
+        return String.join(",",
+                csv(event.id()), csv(event.title()), csv(event.description()), csv(event.date()),
+                csv(event.city()), csv(event.state()), csv(event.remote()), csv(event.eventUrl()),
+                csv(event.imgUrl()), csv(event.updatedAt()), csv(coupons));
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static Long millis(Timestamp timestamp) {
+        return timestamp != null ? timestamp.getTime() : null;
+    }
+
+    /**
+     * Acumula as linhas do evento atual; só um evento fica em memória por vez.
+     */
+    private static final class EventGroup {
+
+        private final Consumer<EventExportDTO> consumer;
+        private EventExportDTO current;
+        private List<EventExportDTO.CouponDTO> coupons;
+        private long count;
+
+        EventGroup(Consumer<EventExportDTO> consumer) {
+            this.consumer = consumer;
+        }
+
+        void accept(ResultSet row) throws SQLException {
+            UUID id = row.getObject("id", UUID.class);
+            if (current == null || !current.id().equals(id)) {
+                this.flush();
+                coupons = new ArrayList<>();
+                current = new EventExportDTO(id, row.getString("title"), row.getString("description"),
+                        millis(row.getTimestamp("date")), row.getString("city"), row.getString("uf"),
+                        row.getBoolean("remote"), row.getString("event_url"), row.getString("img_url"),
+                        millis(row.getTimestamp("updated_at")), coupons);
+            }
+            String code = row.getString("code");
+            if (code != null) {
+                coupons.add(new EventExportDTO.CouponDTO(code, row.getInt("discount"), millis(row.getTimestamp("valid"))));
+            }
+        }
+
+        void flush() {
+            if (current != null) {
+                consumer.accept(current);
+                count++;
+                current = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.event.EventChangedEvent;
+import com.eventostech.api.domain.event.EventCursor;
+import com.eventostech.api.domain.event.EventFacetRow;
+import com.eventostech.api.domain.event.EventFacetsDTO;
+import com.eventostech.api.repositories.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de facetas (por UF, por cidade e remoto/presencial) dos eventos futuros, mantidos em
+ * memória de forma incremental: a descoberta lê os contadores prontos, sem GROUP BY por requisição.
+ * Os contadores são reconstruídos por completo na inicialização e periodicamente (para incorporar
+ * alterações de outros nós), atualizados quando eventos são criados ou alterados neste nó e
+ * decrementados quando os eventos passam.
+ */
+@Slf4j
+@Component
+public class EventFacetIndex {
+
+    private static final int LOAD_BATCH_SIZE = 1000; // Eventos lidos por consulta durante a reconstrução
+    private static final int MAX_CITY_FACETS = 50; // Cidades devolvidas quando nenhuma UF é selecionada
+    private static final Comparator<EventFacetsDTO.FacetCountDTO> BY_COUNT =
+            Comparator.comparingLong(EventFacetsDTO.FacetCountDTO::count).reversed()
+                    .thenComparing(EventFacetsDTO.FacetCountDTO::key);
+
+    @Autowired
+    private EventRepository repository; // Repositório usado para carregar os eventos
+
+    private final Object lock = new Object(); // Serializa as alterações nos contadores
+    private volatile Facets facets; // Nulo até a primeira carga
+    private volatile Set<UUID> changedDuringRebuild; // Eventos alterados enquanto uma reconstrução está em curso
+
+    /**
+     * Obtém as contagens atuais. As cidades são as da UF selecionada ou, sem UF, as mais frequentes.
+     *
+     * @param ufKey Chave da UF selecionada (vazia para todas).
+     * @return Contagens ordenadas da maior para a menor, ou vazio se os contadores ainda não foram carregados.
+     */
+    public Optional<EventFacetsDTO> facets(String ufKey) {
+        Facets current = this.facets;
+        if (current == null) {
+            return Optional.empty();
+        }
+        List<EventFacetsDTO.FacetCountDTO> ufs = current.ufs.values().stream()
+                .map(FacetCount::toDTO)
+                .filter(facet -> facet.count() > 0)
+                .sorted(BY_COUNT)
+                .toList();
+        List<EventFacetsDTO.FacetCountDTO> cities = (ufKey.isEmpty()
+                ? current.cities.values().stream().flatMap(byCity -> byCity.values().stream())
+                : current.cities.getOrDefault(ufKey, Map.of()).values().stream())
+                .map(FacetCount::toDTO)
+                .filter(facet -> facet.count() > 0)
+                .sorted(BY_COUNT)
+                .limit(ufKey.isEmpty() ? MAX_CITY_FACETS : Long.MAX_VALUE)
+                .toList();
+        return Optional.of(new EventFacetsDTO(ufs, cities, current.remote.get(), current.inPerson.get()));
+    }
+
+    /**
+     * Reconstrói os contadores, lendo os eventos futuros em lotes pelo índice (date, id).
+     * Alterações recebidas durante a reconstrução são reaplicadas sobre os novos contadores.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${discovery.facets.rebuild-interval}", fixedDelayString = "${discovery.facets.rebuild-interval}")
+    public synchronized void rebuild() {
+        Set<UUID> changed = ConcurrentHashMap.newKeySet();
+        this.changedDuringRebuild = changed;
+
+        Facets rebuilt = new Facets();
+        EventCursor last = new EventCursor(new Date(), EventCursor.MIN_ID);
+        PageRequest batch = PageRequest.of(0, LOAD_BATCH_SIZE);
+        List<EventFacetRow> rows;
+        do {
+            rows = repository.findFacetRowsAfter(last.date(), last.id(), batch);
+            rows.forEach(rebuilt::add);
+            if (!rows.isEmpty()) {
+                EventFacetRow row = rows.get(rows.size() - 1);
+                last = new EventCursor(row.date(), row.id());
+            }
+        } while (rows.size() == LOAD_BATCH_SIZE);
+
+        synchronized (lock) {
+            this.facets = rebuilt;
+            this.changedDuringRebuild = null;
+            changed.forEach(this::refresh);
+        }
+        log.debug("Facetas de eventos futuros reconstruídas com {} eventos", rebuilt.events.size());
+    }
+
+    /**
+     * Desconta dos contadores os eventos que já passaram.
+     */
+    @Scheduled(fixedDelayString = "${discovery.facets.evict-interval}")
+    public void evictPastEvents() {
+        synchronized (lock) {
+            Facets current = this.facets;
+            if (current == null) {
+                return;
+            }
+            Map<EventCursor, EventFacetRow> past = current.events.headMap(new EventCursor(new Date(), EventCursor.MIN_ID));
+            List.copyOf(past.values()).forEach(current::remove);
+        }
+    }
+
+    /**
+     * Atualiza os contadores com o evento alterado, após o commit da transação que o alterou.
+     *
+     * @param event Notificação de alteração do evento.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        if (!event.type().isCouponChange()) {
+            synchronized (lock) {
+                this.refresh(event.eventId());
+            }
+        }
+    }
+
+    /**
+     * Recarrega um evento do banco e substitui sua contribuição nos contadores. Chamado com o lock.
+     */
+    private void refresh(UUID eventId) {
+        Set<UUID> changed = this.changedDuringRebuild;
+        if (changed != null) {
+            changed.add(eventId);
+        }
+        Facets current = this.facets;
+        if (current == null) {
+            return;
+        }
+        EventFacetRow previous = current.rows.get(eventId);
+        if (previous != null) {
+            current.remove(previous);
+        }
+        repository.findFacetRowById(eventId)
+                .filter(row -> !row.date().before(new Date()))
+                .ifPresent(current::add);
+    }
+
+    /**
+     * Contador de uma faceta, com o rótulo de exibição (o primeiro valor visto para a chave).
+     */
+    private record FacetCount(String key, String label, AtomicLong count) {
+
+        EventFacetsDTO.FacetCountDTO toDTO() {
+            return new EventFacetsDTO.FacetCountDTO(key, label, count.get());
+        }
+    }
+
+    /**
+     * Eventos contabilizados e seus contadores. Alterado apenas com o lock (ou antes de ser publicado);
+     * lido sem lock pelas requisições.
+     */
+    private static final class Facets {
+
+        final ConcurrentSkipListMap<EventCursor, EventFacetRow> events = new ConcurrentSkipListMap<>(EventCursor.ORDER);
+        final Map<UUID, EventFacetRow> rows = new HashMap<>();
+        final Map<String, FacetCount> ufs = new ConcurrentHashMap<>();
+        final Map<String, Map<String, FacetCount>> cities = new ConcurrentHashMap<>();
+        final AtomicLong remote = new AtomicLong();
+        final AtomicLong inPerson = new AtomicLong();
+
+        void add(EventFacetRow row) {
+            events.put(new EventCursor(row.date(), row.id()), row);
+            rows.put(row.id(), row);
+            this.count(row, 1);
+        }
+
+        void remove(EventFacetRow row) {
+            events.remove(new EventCursor(row.date(), row.id()));
+            rows.remove(row.id());
+            this.count(row, -1);
+        }
+
+        private void count(EventFacetRow row, long delta) {
+            (Boolean.TRUE.equals(row.remote()) ? remote : inPerson).addAndGet(delta);
+            if (row.ufKey().isEmpty()) {
+                return;
+            }
+            ufs.computeIfAbsent(row.ufKey(), key -> new FacetCount(key, row.uf().trim(), new AtomicLong()))
+                    .count().addAndGet(delta);
+            if (!row.cityKey().isEmpty()) {
+                cities.computeIfAbsent(row.ufKey(), key -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(row.cityKey(), key -> new FacetCount(key, row.city().trim(), new AtomicLong()))
+                        .count().addAndGet(delta);
+            }
+        }
+    }
+}
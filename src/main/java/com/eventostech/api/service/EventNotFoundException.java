@@ -0,0 +1,16 @@
+package com.eventostech.api.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Indica que o evento informado não existe. Estende IllegalArgumentException para manter o contrato
+ * dos serviços, que já documentavam essa exceção para eventos inexistentes.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class EventNotFoundException extends IllegalArgumentException {
+
+    public EventNotFoundException() {
+        super("Evento não encontrado");
+    }
+}
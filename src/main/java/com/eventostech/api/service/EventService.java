@@ -1,35 +1,46 @@
 package com.eventostech.api.service;
 
-import com.amazonaws.services.s3.AmazonS3;
-import com.eventostech.api.domain.coupon.Coupon;
+import com.eventostech.api.config.ReadYourWrites;
+import com.eventostech.api.domain.address.AddressKey;
 import com.eventostech.api.domain.event.Event;
+import com.eventostech.api.domain.event.EventChangedEvent;
+import com.eventostech.api.domain.event.EventCursor;
 import com.eventostech.api.domain.event.EventDetailsDTO;
+import com.eventostech.api.domain.event.EventDiscoveryDTO;
+import com.eventostech.api.domain.event.EventField;
+import com.eventostech.api.domain.event.EventImageStatusDTO;
+import com.eventostech.api.domain.event.EventPageDTO;
 import com.eventostech.api.domain.event.EventResponseDTO;
 import com.eventostech.api.domain.event.EventsRequestDTO;
+import com.eventostech.api.domain.event.ImageStatus;
+import com.eventostech.api.domain.event.ImageUploadRequestDTO;
+import com.eventostech.api.domain.event.ImageUploadUrlDTO;
 import com.eventostech.api.repositories.EventRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.util.Date;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class EventService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100; // Maior página aceita na busca textual
+
     @Autowired
-    private AmazonS3 S3Client; // Cliente para interação com o serviço Amazon S3
+    private ImageIngestionService imageIngestionService; // Serviço de upload das imagens dos eventos
     @Autowired
     private CouponService couponService; // Serviço para operações relacionadas a cupons
     @Autowired
@@ -38,22 +49,51 @@ public class EventService {
     @Autowired
     private EventRepository repository; // Repositório para operações de persistência de eventos
 
-    @Value("${aws.bucket.name}")
-    private String bucketName; // Nome do bucket no Amazon S3
+    @Autowired
+    private EventDetailsCache eventDetailsCache; // Cache dos detalhes de eventos
+
+    @Autowired
+    private CouponIndex couponIndex; // Índice em memória dos cupons válidos por evento
+
+    @Autowired
+    private UpcomingEventsFeed upcomingEventsFeed; // Snapshot em memória dos eventos futuros
+
+    @Autowired
+    private EventFacetIndex eventFacetIndex; // Contadores de facetas dos eventos futuros
+
+    @Autowired
+    private ChangeOutbox changeOutbox; // Registro das alterações para os consumidores externos
+
+    @Autowired
+    private TransactionTemplate transactionTemplate; // Transação da gravação do evento com seu registro na outbox
+
+    @Autowired
+    private EventDataVersion eventDataVersion; // Versão dos dados usada nas requisições condicionais
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Publica notificações de alteração de eventos
+
+    @Value("${image.ingestion.async}")
+    private boolean asyncImageIngestion; // Se verdadeiro, o upload da imagem ocorre após a resposta
 
     /**
      * Cria um novo evento com base nos dados fornecidos.
-     * Faz o upload de uma imagem para o Amazon S3, se fornecida.
-     * Cria um endereço associado se o evento não for remoto.
+     * Faz o upload de uma imagem para o Amazon S3, se fornecida: no modo assíncrono o evento é salvo
+     * com a imagem PENDING e o upload é concluído em segundo plano; caso contrário, antes de salvar.
+     * Cria um endereço associado se o evento não for remoto. O evento, o endereço e o registro da
+     * alteração na outbox são gravados na mesma transação (o upload síncrono ocorre antes dela).
      *
      * @param data Dados do evento a serem utilizados para criar o evento.
      * @return O evento recém-criado.
      */
     public Event createEvent(EventsRequestDTO data){
+        boolean hasImage = data.image() != null && !data.image().isEmpty();
         String imgUrl = null;
+        ImageStatus imgStatus = hasImage ? ImageStatus.PENDING : ImageStatus.NONE;
 
-        if(data.image() != null){
-            imgUrl = this.uploadImg(data.image());
+        if(hasImage && !asyncImageIngestion){
+            imgUrl = this.imageIngestionService.upload(data.image());
+            imgStatus = ImageStatus.READY;
         }
 
         Event newEvent = new Event();
@@ -62,62 +102,134 @@ public class EventService {
         newEvent.setEventUrl(data.eventUrl());
         newEvent.setDate(new Date(data.date()));
         newEvent.setImgUrl(imgUrl);
+        newEvent.setImgStatus(imgStatus);
         newEvent.setRemote(data.remote());
 
-        repository.save(newEvent);
+        boolean pendingImage = imgStatus == ImageStatus.PENDING;
+        this.transactionTemplate.executeWithoutResult(status -> {
+            repository.save(newEvent);
 
-        if(!data.remote()){
-            this.addressService.createAddress(data,newEvent);
-        }
+            if(!data.remote()){
+                this.addressService.createAddress(data,newEvent);
+            }
+
+            if(pendingImage){
+                this.imageIngestionService.submit(newEvent.getId(), data.image());
+            }
 
+            this.changeOutbox.appendEvent(newEvent.getId(), EventChangedEvent.Type.EVENT_CREATED);
+            this.eventPublisher.publishEvent(new EventChangedEvent(newEvent.getId(), EventChangedEvent.Type.EVENT_CREATED));
+        });
 
         return newEvent;
     }
 
+    /**
+     * Consulta a situação do upload da imagem de um evento.
+     *
+     * @param eventId ID do evento a ser consultado.
+     * @return Status da imagem e URL, quando disponível.
+     * @throws EventNotFoundException Se o evento não for encontrado.
+     */
+    public EventImageStatusDTO getImageStatus(UUID eventId) {
+        Event event = repository.findById(eventId)
+                .orElseThrow(EventNotFoundException::new);
+
+        return new EventImageStatusDTO(event.getId(), event.getImgStatus(), event.getImgUrl());
+    }
 
     /**
-     * Faz o upload de um arquivo (imagem) para o Amazon S3.
+     * Inicia o envio direto da imagem de um evento ao armazenamento (primeira fase), gerando a URL
+     * pré-assinada para o cliente. A imagem do evento só muda após a confirmação.
      *
-     * @param multipartFile Arquivo a ser enviado para o Amazon S3.
-     * @return URL pública do arquivo após o upload.
+     * @param eventId ID do evento.
+     * @param request Tipo e tamanho da imagem que será enviada.
+     * @return Chave do objeto, URL e cabeçalhos do envio.
+     * @throws EventNotFoundException Se o evento não for encontrado.
      */
-    private String uploadImg(MultipartFile multipartFile){
-        String filename = UUID.randomUUID() + "-" + multipartFile.getOriginalFilename();
+    public ImageUploadUrlDTO createImageUpload(UUID eventId, ImageUploadRequestDTO request) {
+        if (!repository.existsById(eventId)) {
+            throw new EventNotFoundException();
+        }
+        return this.imageIngestionService.presignUpload(eventId, request.contentType(), request.contentLength());
+    }
 
-        try{
-            File file = this.convertMultipartToFile(multipartFile);
-            S3Client.putObject(bucketName, filename, file);
-            file.delete();
-            return S3Client.getUrl(bucketName, filename).toString();
-        } catch (Exception e){
-            System.out.println("Erro ao subir arquivo");
-            System.out.println(e.getMessage());
-            return "";
+    /**
+     * Confirma o envio direto da imagem de um evento (segunda fase): valida o objeto no armazenamento
+     * e passa a usá-lo como imagem do evento.
+     *
+     * @param eventId ID do evento.
+     * @param key     Chave do objeto recebida na primeira fase.
+     * @return Status da imagem e URL.
+     * @throws EventNotFoundException Se o evento não for encontrado.
+     */
+    public EventImageStatusDTO confirmImageUpload(UUID eventId, String key) {
+        if (!repository.existsById(eventId)) {
+            throw new EventNotFoundException();
         }
+        String imgUrl = this.imageIngestionService.confirmUpload(eventId, key);
+        this.transactionTemplate.executeWithoutResult(status -> {
+            if (repository.updateImage(eventId, imgUrl, null, null, ImageStatus.READY) > 0) {
+                this.changeOutbox.appendEvent(eventId, EventChangedEvent.Type.EVENT_UPDATED);
+                this.eventPublisher.publishEvent(new EventChangedEvent(eventId, EventChangedEvent.Type.EVENT_UPDATED));
+            }
+        });
+
+        return new EventImageStatusDTO(eventId, ImageStatus.READY, imgUrl);
     }
 
     /**
-     * Obtém uma lista paginada de eventos futuros.
+     * Obtém uma lista paginada de eventos futuros, servida pelo snapshot em memória quando disponível.
      *
      * @param page Número da página requisitada.
      * @param size Tamanho da página.
      * @return Lista de eventos futuros no formato DTO.
      */
+    @Transactional(readOnly = true)
     public List<EventResponseDTO> getUpcomingEvents(int page, int size){
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Event> eventsPage = this.repository.findUpcomingEvents(new Date(), pageable);
-        return eventsPage.map(event -> new EventResponseDTO(
-                        event.getId(),
-                        event.getTitle(),
-                        event.getDescription(),
-                        event.getDate(),
-                        event.getAddress() != null ? event.getAddress().getCity() : "",
-                        event.getAddress() != null ? event.getAddress().getUf() : "",
-                        event.getRemote(),
-                        event.getEventUrl(),
-                        event.getImgUrl())
-                )
-                .toList();
+        return this.upcomingEventsFeed.page(page, size).orElseGet(() -> {
+            Pageable pageable = PageRequest.of(page, size);
+            return this.repository.findUpcomingEvents(new Date(), pageable).getContent();
+        });
+    }
+
+    /**
+     * Obtém uma lista paginada de eventos futuros apenas com os campos selecionados. Do snapshot em
+     * memória os campos são copiados; do banco, apenas as colunas desses campos são consultadas.
+     *
+     * @param page   Número da página requisitada.
+     * @param size   Tamanho da página.
+     * @param fields Campos selecionados.
+     * @return Valores dos campos de cada evento, pelo nome do JSON.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getUpcomingEvents(int page, int size, Set<EventField> fields){
+        return this.upcomingEventsFeed.page(page, size)
+                .map(events -> events.stream().map(event -> EventField.project(event, fields)).toList())
+                .orElseGet(() -> this.repository.findUpcomingEventFields(fields, new Date(), page, size));
+    }
+
+    /**
+     * Obtém uma página de eventos futuros usando paginação por cursor (keyset sobre date, id),
+     * sem OFFSET nem consulta de contagem.
+     *
+     * @param cursor Token de continuação da página anterior (vazio para a primeira página).
+     * @param size   Tamanho da página.
+     * @return Eventos da página e o token da próxima página (nulo se não houver mais eventos).
+     * @throws IllegalArgumentException Se o cursor for inválido.
+     */
+    @Transactional(readOnly = true)
+    public EventPageDTO getUpcomingEvents(String cursor, int size){
+        EventCursor after = (cursor == null || cursor.isBlank()) ? null : EventCursor.decode(cursor);
+
+        return this.upcomingEventsFeed.pageAfter(after, size).orElseGet(() -> {
+            Pageable pageable = PageRequest.of(0, size);
+            Date now = new Date();
+            Slice<EventResponseDTO> eventsSlice = (after == null)
+                    ? this.repository.findUpcomingEvents(now, pageable)
+                    : this.repository.findUpcomingEventsAfter(now, after.date(), after.id(), pageable);
+            return this.toPage(eventsSlice);
+        });
     }
 
     /**
@@ -125,69 +237,134 @@ public class EventService {
      *
      * @param page Número da página requisitada.
      * @param size Tamanho da página.
-     * @param city Cidade para filtro (pode ser vazio para não filtrar por cidade).
-     * @param uf Estado para filtro (pode ser vazio para não filtrar por estado).
+     * @param city Cidade para filtro, comparada de forma exata sem acentos nem maiúsculas (vazio para não filtrar).
+     * @param uf Estado para filtro, comparado da mesma forma (vazio para não filtrar).
      * @param startDate Data mínima de início para filtro.
      * @param endDate Data máxima de fim para filtro.
      * @return Lista de eventos filtrados no formato DTO.
      */
+    @Transactional(readOnly = true)
     public List<EventResponseDTO> getFilteredEvents(int page, int size, String city, String uf, Date startDate, Date endDate){
-        city = (city != null) ? city : "";
-        uf = (uf != null) ? uf : "";
+        city = AddressKey.of(city);
+        uf = AddressKey.of(uf);
         startDate = (startDate != null) ? startDate : new Date(0);
         endDate = (endDate != null) ? endDate : new Date();
 
         Pageable pageable = PageRequest.of(page, size);
 
-        Page<Event> eventsPage = this.repository.findFilteredEvents(city, uf, startDate, endDate, pageable);
-        return eventsPage.map(event -> new EventResponseDTO(
-                        event.getId(),
-                        event.getTitle(),
-                        event.getDescription(),
-                        event.getDate(),
-                        event.getAddress() != null ? event.getAddress().getCity() : "",
-                        event.getAddress() != null ? event.getAddress().getUf() : "",
-                        event.getRemote(),
-                        event.getEventUrl(),
-                        event.getImgUrl())
-                )
-                .toList();
+        return this.repository.findFilteredEvents(city, uf, startDate, endDate, pageable).getContent();
     }
 
     /**
-     * Converte um MultipartFile em um File.
+     * Obtém uma lista paginada de eventos filtrados apenas com os campos selecionados, consultando no
+     * banco somente as colunas desses campos.
      *
-     * @param multipartFile Arquivo multipart a ser convertido.
-     * @return Arquivo convertido.
-     * @throws IOException Se houver erro durante a conversão.
+     * @param page Número da página requisitada.
+     * @param size Tamanho da página.
+     * @param city Cidade para filtro, comparada de forma exata sem acentos nem maiúsculas (vazio para não filtrar).
+     * @param uf Estado para filtro, comparado da mesma forma (vazio para não filtrar).
+     * @param startDate Data mínima de início para filtro.
+     * @param endDate Data máxima de fim para filtro.
+     * @param fields Campos selecionados.
+     * @return Valores dos campos de cada evento, pelo nome do JSON.
      */
-    private File convertMultipartToFile(MultipartFile multipartFile) throws IOException {
-        File convFile = new File(Objects.requireNonNull(multipartFile.getOriginalFilename()));
-        FileOutputStream fos = new FileOutputStream(convFile);
-        fos.write(multipartFile.getBytes());
-        fos.close();
-        return convFile;
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getFilteredEvents(int page, int size, String city, String uf, Date startDate, Date endDate,
+                                                       Set<EventField> fields){
+        startDate = (startDate != null) ? startDate : new Date(0);
+        endDate = (endDate != null) ? endDate : new Date();
+
+        return this.repository.findFilteredEventFields(fields, AddressKey.of(city), AddressKey.of(uf), startDate, endDate, page, size);
     }
 
     /**
-     * Obtém os detalhes de um evento específico.
+     * Obtém uma página de eventos filtrados usando paginação por cursor (keyset sobre date, id),
+     * sem OFFSET nem consulta de contagem.
+     *
+     * @param cursor Token de continuação da página anterior (vazio para a primeira página).
+     * @param size Tamanho da página.
+     * @param city Cidade para filtro, comparada de forma exata sem acentos nem maiúsculas (vazio para não filtrar).
+     * @param uf Estado para filtro, comparado da mesma forma (vazio para não filtrar).
+     * @param startDate Data mínima de início para filtro.
+     * @param endDate Data máxima de fim para filtro.
+     * @return Eventos da página e o token da próxima página (nulo se não houver mais eventos).
+     * @throws IllegalArgumentException Se o cursor for inválido.
+     */
+    @Transactional(readOnly = true)
+    public EventPageDTO getFilteredEvents(String cursor, int size, String city, String uf, Date startDate, Date endDate){
+        city = AddressKey.of(city);
+        uf = AddressKey.of(uf);
+        startDate = (startDate != null) ? startDate : new Date(0);
+        endDate = (endDate != null) ? endDate : new Date();
+
+        Pageable pageable = PageRequest.of(0, size);
+
+        Slice<EventResponseDTO> eventsSlice;
+        if (cursor == null || cursor.isBlank()) {
+            eventsSlice = this.repository.findFilteredEvents(city, uf, startDate, endDate, pageable);
+        } else {
+            EventCursor after = EventCursor.decode(cursor);
+            eventsSlice = this.repository.findFilteredEventsAfter(city, uf, startDate, endDate,
+                    after.date(), after.id(), pageable);
+        }
+        return this.toPage(eventsSlice);
+    }
+
+    /**
+     * Descoberta de eventos futuros: eventos filtrados por estado, cidade e modalidade, com as contagens
+     * por UF, por cidade e remoto/presencial. As contagens vêm dos contadores em memória e cobrem todos
+     * os eventos futuros (as cidades, apenas as da UF selecionada), para orientar o próximo filtro.
+     *
+     * @param uf     Estado para filtro, comparado de forma exata sem acentos nem maiúsculas (vazio para não filtrar).
+     * @param city   Cidade para filtro, comparada da mesma forma (vazio para não filtrar).
+     * @param remote Modalidade para filtro (nulo para não filtrar).
+     * @param page   Número da página requisitada.
+     * @param size   Tamanho da página.
+     * @return Eventos da página e contagens das facetas (nulas se os contadores ainda não foram carregados).
+     */
+    @Transactional(readOnly = true)
+    public EventDiscoveryDTO discoverEvents(String uf, String city, Boolean remote, int page, int size) {
+        String ufKey = AddressKey.of(uf);
+        String cityKey = AddressKey.of(city);
+        Pageable pageable = PageRequest.of(page, size);
+
+        List<EventResponseDTO> events = this.repository
+                .findDiscoverEvents(new Date(), ufKey, cityKey, remote, pageable)
+                .getContent();
+        return new EventDiscoveryDTO(events, this.eventFacetIndex.facets(ufKey).orElse(null));
+    }
+
+    /**
+     * Obtém os detalhes de um evento específico. Os dados do evento vêm do cache e os cupons válidos
+     * no momento, do índice de cupons. As cargas do cache leem do primário, nunca de uma réplica.
      *
      * @param eventId ID do evento a ser consultado.
-     * @return Detalhes do evento no formato DTO.
-     * @throws IllegalArgumentException Se o evento não for encontrado.
+     * @return Detalhes do evento no formato DTO, apenas com os cupons válidos no momento.
+     * @throws EventNotFoundException Se o evento não for encontrado.
      */
+    @Transactional(readOnly = true)
     public EventDetailsDTO getEventDetails(UUID eventId) {
-        Event event = repository.findById(eventId)
-                .orElseThrow(() -> new IllegalArgumentException("Evento não encontrado"));
+        EventDetailsDTO details = this.cachedEventDetails(eventId);
+        List<EventDetailsDTO.CouponDTO> coupons = this.couponIndex.validCoupons(eventId, new Date());
 
-        List<Coupon> coupons = couponService.consultCoupons(eventId, new Date());
+        return new EventDetailsDTO(details.id(), details.title(), details.description(), details.date(),
+                details.city(), details.uf(), details.imgUrl(), details.mediumUrl(), details.thumbUrl(),
+                details.eventUrl(), coupons);
+    }
 
-        List<EventDetailsDTO.CouponDTO> couponDTOs = coupons.stream()
-                .map(coupon -> new EventDetailsDTO.CouponDTO(
-                        coupon.getCode(),
-                        coupon.getDiscount(),
-                        coupon.getValid()))
-                .collect(Collectors.toList());
+    /**
+     * Obtém do cache os detalhes de um evento, sem os cupons, carregando-os do primário se necessário.
+     */
+    private EventDetailsDTO cachedEventDetails(UUID eventId) {
+        return this.eventDetailsCache.get(eventId, id -> ReadYourWrites.fromPrimary(() -> this.loadEventDetails(id)));
+    }
+
+    /**
+     * Carrega do banco os detalhes de um evento, sem os cupons.
+     */
+    private EventDetailsDTO loadEventDetails(UUID eventId) {
+        Event event = repository.findById(eventId)
+                .orElseThrow(EventNotFoundException::new);
 
         return new EventDetailsDTO(
                 event.getId(),
@@ -197,31 +374,67 @@ public class EventService {
                 event.getAddress() != null ? event.getAddress().getCity() : "",
                 event.getAddress() != null ? event.getAddress().getUf() : "",
                 event.getImgUrl(),
+                event.getMediumUrl() != null ? event.getMediumUrl() : event.getImgUrl(),
+                event.getThumbUrl() != null ? event.getThumbUrl() : event.getImgUrl(),
                 event.getEventUrl(),
-                couponDTOs);
+                List.of());
     }
 
     /**
-     * Busca eventos por título.
+     * Busca eventos por texto no título e na descrição, ordenados por relevância.
      *
-     * @param title Título do evento para busca.
+     * @param title Texto da busca.
+     * @param page  Número da página requisitada.
+     * @param size  Tamanho da página (limitado a {@value #MAX_SEARCH_PAGE_SIZE}).
      * @return Lista de eventos encontrados no formato DTO.
      */
-    public List<EventResponseDTO> searchEvents(String title){
+    @Transactional(readOnly = true)
+    public List<EventResponseDTO> searchEvents(String title, int page, int size){
         title = (title != null) ? title : "";
 
-        List<Event> eventsList = this.repository.findEventsByTitle(title);
-        return eventsList.stream().map(event -> new EventResponseDTO(
-                        event.getId(),
-                        event.getTitle(),
-                        event.getDescription(),
-                        event.getDate(),
-                        event.getAddress() != null ? event.getAddress().getCity() : "",
-                        event.getAddress() != null ? event.getAddress().getUf() : "",
-                        event.getRemote(),
-                        event.getEventUrl(),
-                        event.getImgUrl())
-                )
-                .toList();
+        return this.repository.searchEvents(title, Math.max(page, 0), Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE));
+    }
+
+    /**
+     * ETag da listagem de eventos futuros, derivada da versão dos dados e do primeiro evento futuro
+     * (que muda quando eventos passam a ser passados), sem consultar o banco.
+     *
+     * @return ETag da listagem, ou vazio se o snapshot não estiver disponível (a listagem vem do banco).
+     */
+    public Optional<String> getUpcomingEventsETag() {
+        return this.upcomingEventsFeed.headMarker().map(this.eventDataVersion::eTag);
+    }
+
+    /**
+     * ETag das consultas cujo resultado depende apenas dos dados (filtro e busca).
+     *
+     * @return ETag da versão atual dos dados.
+     */
+    public String getEventsETag() {
+        return this.eventDataVersion.eTag("");
+    }
+
+    /**
+     * ETag dos detalhes de um evento, obtida do cache de detalhes e do índice de cupons. Inclui a
+     * quantidade de cupons válidos, que diminui com a expiração dos cupons mesmo sem alteração nos dados.
+     * A existência do evento é conferida antes, para que IDs desconhecidos não ocupem o índice de cupons.
+     *
+     * @param eventId ID do evento.
+     * @return ETag dos detalhes.
+     * @throws EventNotFoundException Se o evento não for encontrado.
+     */
+    @Transactional(readOnly = true)
+    public String getEventDetailsETag(UUID eventId) {
+        this.cachedEventDetails(eventId);
+        return this.eventDataVersion.eTag("c" + this.couponIndex.validCoupons(eventId, new Date()).size());
+    }
+
+    /**
+     * Monta a página com o token da próxima página a partir da fatia retornada pelo repositório.
+     */
+    private EventPageDTO toPage(Slice<EventResponseDTO> eventsSlice) {
+        List<EventResponseDTO> events = eventsSlice.getContent();
+        String nextCursor = eventsSlice.hasNext() ? EventCursor.after(events.get(events.size() - 1)).encode() : null;
+        return new EventPageDTO(events, nextCursor);
     }
 }
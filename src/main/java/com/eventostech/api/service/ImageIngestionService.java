@@ -0,0 +1,384 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.event.EventChangedEvent;
+import com.eventostech.api.domain.event.ImageStatus;
+import com.eventostech.api.domain.event.ImageUploadUrlDTO;
+import com.eventostech.api.domain.event.ImageVariant;
+import com.eventostech.api.repositories.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class ImageIngestionService {
+
+    @Autowired
+    private StorageService storageService; // Armazenamento das imagens (S3 ou diretório local)
+    @Autowired
+    private EventRepository repository; // Repositório para atualizar a imagem dos eventos
+    @Autowired
+    private ImageProcessingService imageProcessingService; // Geração dos derivados (miniatura, médio)
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Publica notificações de alteração de eventos
+    @Autowired
+    private ChangeOutbox changeOutbox; // Registro das alterações para os consumidores externos
+    @Autowired
+    private TransactionTemplate transactionTemplate; // Atualização da imagem e registro na mesma transação
+
+    @Value("${image.ingestion.max-attempts}")
+    private int maxAttempts; // Número máximo de tentativas de upload por imagem
+
+    @Value("${image.ingestion.backoff-ms}")
+    private long backoffMillis; // Espera inicial entre tentativas, dobrada a cada nova falha
+
+    @Value("${image.direct-upload.url-ttl}")
+    private Duration directUploadTtl; // Validade das URLs pré-assinadas de envio direto
+
+    @Value("${image.direct-upload.max-size}")
+    private DataSize directUploadMaxSize; // Maior imagem aceita no envio direto
+
+    @Value("${image.direct-upload.content-types}")
+    private List<String> directUploadContentTypes; // Tipos de imagem aceitos no envio direto
+
+    private final Semaphore permits; // Limita quantos uploads rodam ao mesmo tempo
+    private final ExecutorService workers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("image-ingestion-", 0).factory());
+
+    private final Timer putSuccess; // Duração dos envios (PUT) concluídos no armazenamento
+    private final Timer putFailure; // Duração das tentativas de envio que falharam
+    private final DistributionSummary putBytes; // Tamanho dos objetos enviados
+    private final Counter uploadFailures; // Imagens que não puderam ser enviadas (após as novas tentativas)
+
+    public ImageIngestionService(@Value("${image.ingestion.max-concurrency}") int maxConcurrency,
+                                 MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrency);
+        this.putSuccess = this.putTimer(meterRegistry, "success");
+        this.putFailure = this.putTimer(meterRegistry, "failure");
+        this.putBytes = DistributionSummary.builder("storage.payload")
+                .description("Tamanho dos objetos enviados ao S3")
+                .baseUnit("bytes")
+                .tag("operation", "put")
+                .register(meterRegistry);
+        this.uploadFailures = Counter.builder("image.upload.failures")
+                .description("Imagens de eventos que não puderam ser enviadas ao S3")
+                .register(meterRegistry);
+    }
+
+    private Timer putTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("storage.operations")
+                .description("Duração das operações no S3")
+                .tag("operation", "put")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(5))
+                .maximumExpectedValue(Duration.ofMinutes(2))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Faz o upload de um arquivo (imagem) para o armazenamento de forma síncrona.
+     * O conteúdo é lido diretamente do stream do multipart, sem cópia em memória nem arquivo temporário;
+     * arquivos grandes são enviados em partes pelo cliente do S3.
+     *
+     * @param multipartFile Arquivo a ser enviado para o armazenamento.
+     * @return URL pública do arquivo após o upload.
+     * @throws ImageUploadException Se o upload falhar.
+     */
+    public String upload(MultipartFile multipartFile) {
+        String filename = this.newObjectKey(multipartFile);
+
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            return this.put(() -> storageService.put(filename, inputStream, multipartFile.getSize(), multipartFile.getContentType()),
+                    multipartFile.getSize()).join();
+        } catch (IOException e) {
+            uploadFailures.increment();
+            throw new ImageUploadException("Erro ao subir arquivo", e);
+        } catch (CompletionException e) {
+            uploadFailures.increment();
+            throw new ImageUploadException("Erro ao subir arquivo", e.getCause());
+        }
+    }
+
+    /**
+     * Gera a URL pré-assinada para o cliente enviar a imagem de um evento diretamente ao armazenamento.
+     * O tipo e o tamanho declarados entram na assinatura, então o armazenamento recusa um PUT diferente.
+     *
+     * @param eventId       ID do evento dono da imagem.
+     * @param contentType   Tipo da imagem que será enviada.
+     * @param contentLength Tamanho da imagem, em bytes.
+     * @return Chave do objeto, URL e cabeçalhos do PUT e expiração da URL.
+     * @throws InvalidImageUploadException Se o tipo ou o tamanho não forem aceitos.
+     */
+    public ImageUploadUrlDTO presignUpload(UUID eventId, String contentType, Long contentLength) {
+        this.validateDirectUpload(contentType, contentLength);
+
+        String key = this.directUploadPrefix(eventId) + UUID.randomUUID() + "." + this.subtypeOf(contentType);
+        StorageService.PresignedUpload upload = storageService.presignPut(key, contentType, contentLength, directUploadTtl);
+        return new ImageUploadUrlDTO(key, upload.url(), upload.headers(), Date.from(upload.expiresAt()));
+    }
+
+    /**
+     * Confirma uma imagem enviada diretamente ao armazenamento, conferindo os metadados do objeto (HEAD)
+     * sem baixar o conteúdo. Objetos fora das restrições são removidos do armazenamento.
+     * Os derivados não são gerados neste fluxo, pois o conteúdo não passa pela API.
+     *
+     * @param eventId ID do evento dono da imagem.
+     * @param key     Chave retornada por {@link #presignUpload}.
+     * @return URL pública da imagem.
+     * @throws InvalidImageUploadException Se a chave não pertencer ao evento ou o objeto for inválido ou inexistente.
+     * @throws ImageUploadException        Se o armazenamento não puder ser consultado.
+     */
+    public String confirmUpload(UUID eventId, String key) {
+        if (key == null || !key.startsWith(this.directUploadPrefix(eventId)) || key.contains("..")) {
+            throw new InvalidImageUploadException("Chave de upload inválida para o evento");
+        }
+
+        StorageService.StoredObject object;
+        try {
+            object = storageService.head(key).join()
+                    .orElseThrow(() -> new InvalidImageUploadException("Imagem não encontrada no armazenamento"));
+        } catch (CompletionException e) {
+            throw new ImageUploadException("Erro ao consultar imagem no armazenamento", e.getCause());
+        }
+
+        try {
+            this.validateDirectUpload(object.contentType(), object.contentLength());
+        } catch (InvalidImageUploadException e) {
+            storageService.delete(key).exceptionally(error -> {
+                log.warn("Não foi possível remover a imagem inválida {}", key, error);
+                return null;
+            });
+            throw e;
+        }
+        return storageService.url(key);
+    }
+
+    private void validateDirectUpload(String contentType, Long contentLength) {
+        if (contentType == null || !directUploadContentTypes.contains(contentType.toLowerCase(Locale.ROOT))) {
+            throw new InvalidImageUploadException("Tipo de imagem não aceito: " + contentType);
+        }
+        if (contentLength == null || contentLength <= 0 || contentLength > directUploadMaxSize.toBytes()) {
+            throw new InvalidImageUploadException("Tamanho da imagem deve estar entre 1 e "
+                    + directUploadMaxSize.toBytes() + " bytes");
+        }
+    }
+
+    private String directUploadPrefix(UUID eventId) {
+        return "events/" + eventId + "/upload/";
+    }
+
+    /**
+     * Subtipo do conteúdo (ex.: "png" em "image/png"), usado como extensão da chave.
+     */
+    private String subtypeOf(String contentType) {
+        return contentType.substring(contentType.indexOf('/') + 1).toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+
+    /**
+     * Agenda o processamento e upload assíncronos da imagem de um evento já persistido com status PENDING.
+     * São gerados e enviados os derivados (original recomprimido, médio e miniatura); se o formato não
+     * for suportado pelo ImageIO, o arquivo original é enviado como está. Imagens acima do limite de
+     * pixels são recusadas sem envio, e o evento fica com a imagem em FAILED. O multipart é transferido para
+     * um arquivo local (em geral apenas um rename do arquivo já gravado pelo container), pois o conteúdo
+     * da requisição deixa de existir quando ela termina.
+     * Se houver uma transação ativa, o upload só começa após o commit, garantindo que o evento exista.
+     *
+     * @param eventId       ID do evento dono da imagem.
+     * @param multipartFile Imagem recebida na requisição.
+     * @throws ImageUploadException Se a imagem não puder ser preparada para o upload.
+     */
+    public void submit(UUID eventId, MultipartFile multipartFile) {
+        String filename = "events/" + eventId + "/source" + this.extensionOf(multipartFile.getOriginalFilename());
+        String contentType = multipartFile.getContentType();
+        Path spooled;
+        try {
+            spooled = Files.createTempFile("event-image-", null);
+            multipartFile.transferTo(spooled);
+        } catch (IOException e) {
+            throw new ImageUploadException("Erro ao preparar imagem para upload", e);
+        }
+
+        Runnable task = () -> workers.execute(() -> this.ingest(eventId, filename, contentType, spooled));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        task.run();
+                    } else {
+                        deleteQuietly(spooled);
+                    }
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * Gera os derivados e faz o upload com novas tentativas e backoff exponencial,
+     * registrando o resultado no evento. Os derivados são enviados em paralelo.
+     */
+    private void ingest(UUID eventId, String filename, String contentType, Path spooled) {
+        try {
+            permits.acquire();
+            try {
+                Map<ImageVariant, byte[]> derivatives = imageProcessingService.createDerivatives(spooled);
+                if (derivatives.isEmpty()) {
+                    String imgUrl = this.uploadWithRetry(filename,
+                            () -> this.put(() -> storageService.put(filename, spooled, contentType), spooled.toFile().length())).join();
+                    this.updateImage(eventId, imgUrl, null, null, ImageStatus.READY);
+                } else {
+                    CompletableFuture<String> imgUrl = this.uploadDerivative(eventId, ImageVariant.ORIGINAL, derivatives);
+                    CompletableFuture<String> mediumUrl = this.uploadDerivative(eventId, ImageVariant.MEDIUM, derivatives);
+                    CompletableFuture<String> thumbUrl = this.uploadDerivative(eventId, ImageVariant.THUMBNAIL, derivatives);
+                    CompletableFuture.allOf(imgUrl, mediumUrl, thumbUrl).join();
+                    this.updateImage(eventId, imgUrl.join(), mediumUrl.join(), thumbUrl.join(), ImageStatus.READY);
+                }
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            uploadFailures.increment();
+            this.updateImage(eventId, null, null, null, ImageStatus.FAILED);
+        } catch (InvalidImageUploadException e) {
+            log.warn("Imagem do evento {} recusada: {}", eventId, e.getMessage());
+            this.updateImage(eventId, null, null, null, ImageStatus.FAILED);
+        } catch (IOException | RuntimeException e) {
+            log.error("Falha no upload da imagem do evento {}", eventId, e instanceof CompletionException ? e.getCause() : e);
+            uploadFailures.increment();
+            this.updateImage(eventId, null, null, null, ImageStatus.FAILED);
+        } finally {
+            deleteQuietly(spooled);
+        }
+    }
+
+    private CompletableFuture<String> uploadDerivative(UUID eventId, ImageVariant variant, Map<ImageVariant, byte[]> derivatives) {
+        String key = variant.objectKey(eventId);
+        byte[] content = derivatives.get(variant);
+        return this.uploadWithRetry(key, () -> this.put(() -> storageService.put(key, content, "image/jpeg"), content.length));
+    }
+
+    /**
+     * Inicia um envio, registrando a duração e o tamanho enviado quando ele terminar.
+     */
+    private CompletableFuture<String> put(Supplier<CompletableFuture<String>> upload, long bytes) {
+        long start = System.nanoTime();
+        return upload.get().whenComplete((url, error) -> {
+            (error == null ? putSuccess : putFailure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (error == null) {
+                putBytes.record(bytes);
+            }
+        });
+    }
+
+    /**
+     * Envia o objeto, repetindo a tentativa em caso de falha. Cada tentativa inicia um novo envio, e a
+     * espera entre tentativas é agendada sem bloquear thread.
+     */
+    private CompletableFuture<String> uploadWithRetry(String key, Supplier<CompletableFuture<String>> upload) {
+        return this.attempt(key, upload, 1);
+    }
+
+    private CompletableFuture<String> attempt(String key, Supplier<CompletableFuture<String>> upload, int attempt) {
+        CompletableFuture<String> put;
+        try {
+            put = upload.get();
+        } catch (RuntimeException e) {
+            put = CompletableFuture.failedFuture(e);
+        }
+        return put.exceptionallyCompose(error -> {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (attempt >= maxAttempts) {
+                return CompletableFuture.failedFuture(
+                        new ImageUploadException("Erro ao subir arquivo após " + attempt + " tentativas", cause));
+            }
+            log.warn("Tentativa {} de upload de {} falhou: {}", attempt, key, cause.getMessage());
+            return CompletableFuture.runAsync(() -> { },
+                            CompletableFuture.delayedExecutor(backoffMillis << (attempt - 1), TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> this.attempt(key, upload, attempt + 1));
+        });
+    }
+
+    /**
+     * Registra o resultado do processamento no evento e a alteração na outbox, na mesma transação.
+     * A notificação só é publicada (após o commit) quando o evento ainda existe: uma alteração sem
+     * registro na outbox nunca chegaria pelo fluxo de alterações e ficaria pendente na versão local.
+     */
+    private void updateImage(UUID eventId, String imgUrl, String mediumUrl, String thumbUrl, ImageStatus status) {
+        transactionTemplate.executeWithoutResult(transaction -> {
+            if (repository.updateImage(eventId, imgUrl, mediumUrl, thumbUrl, status) > 0) {
+                changeOutbox.appendEvent(eventId, EventChangedEvent.Type.EVENT_UPDATED);
+                eventPublisher.publishEvent(new EventChangedEvent(eventId, EventChangedEvent.Type.EVENT_UPDATED));
+            }
+        });
+    }
+
+    /**
+     * Gera a chave do objeto no bucket. O nome enviado pelo cliente é descartado (exceto a extensão)
+     * para evitar colisões e caracteres inválidos.
+     */
+    private String newObjectKey(MultipartFile multipartFile) {
+        return UUID.randomUUID() + this.extensionOf(multipartFile.getOriginalFilename());
+    }
+
+    /**
+     * Extrai a extensão do nome original do arquivo, descartando o restante do nome enviado pelo cliente.
+     *
+     * @param originalFilename Nome original do arquivo (pode ser nulo).
+     * @return Extensão com ponto (ex.: ".png") ou vazio se não houver extensão válida.
+     */
+    private String extensionOf(String originalFilename) {
+        if (originalFilename == null || originalFilename.lastIndexOf('.') < 0) {
+            return "";
+        }
+        String extension = originalFilename.substring(originalFilename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return extension.matches("[a-z0-9]{1,5}") ? "." + extension : "";
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover o arquivo temporário {}", path, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
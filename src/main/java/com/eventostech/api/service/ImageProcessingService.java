@@ -0,0 +1,139 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.event.ImageVariant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+@Service
+public class ImageProcessingService {
+
+    @Value("${image.derivatives.jpeg-quality}")
+    private float jpegQuality; // Qualidade (0 a 1) usada ao recodificar os derivados em JPEG
+
+    @Value("${image.derivatives.max-pixels}")
+    private long maxPixels; // Maior imagem (largura x altura) aceita para decodificação
+
+    /**
+     * Gera os derivados (original recomprimido, médio e miniatura) de uma imagem, codificados em JPEG.
+     * As dimensões são lidas antes da decodificação para recusar imagens grandes demais, que não são
+     * decodificadas nem enviadas (protege contra "bombas de descompressão").
+     *
+     * @param source Arquivo com a imagem original.
+     * @return Bytes de cada derivado, ou mapa vazio se o formato não for suportado pelo ImageIO.
+     * @throws InvalidImageUploadException Se a imagem exceder o limite de pixels (image.derivatives.max-pixels).
+     * @throws IOException                 Se houver erro de leitura ou codificação.
+     */
+    public Map<ImageVariant, byte[]> createDerivatives(Path source) throws IOException {
+        Map<ImageVariant, byte[]> derivatives = new EnumMap<>(ImageVariant.class);
+
+        BufferedImage image = this.read(source);
+        if (image == null) {
+            return derivatives;
+        }
+
+        // Cada derivado parte do anterior (maior), reduzindo o custo de redimensionar a partir do original
+        BufferedImage current = this.toRgb(image);
+        for (ImageVariant variant : ImageVariant.values()) {
+            current = this.scaleDown(current, variant.maxDimension());
+            derivatives.put(variant, this.encodeJpeg(current));
+        }
+        return derivatives;
+    }
+
+    private BufferedImage read(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    throw new InvalidImageUploadException("Imagem excede o limite de " + maxPixels + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Converte para RGB sem canal alfa (exigido pelo codificador JPEG), usando fundo branco.
+     */
+    private BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    /**
+     * Reduz a imagem até que o maior lado caiba no limite, em passos de no máximo metade do tamanho
+     * (reduções bilineares grandes de uma só vez perdem detalhes e geram serrilhado).
+     */
+    private BufferedImage scaleDown(BufferedImage image, int maxDimension) {
+        BufferedImage current = image;
+        while (Math.max(current.getWidth(), current.getHeight()) > maxDimension) {
+            double ratio = Math.max(0.5, (double) maxDimension / Math.max(current.getWidth(), current.getHeight()));
+            int width = Math.max(1, (int) Math.round(current.getWidth() * ratio));
+            int height = Math.max(1, (int) Math.round(current.getHeight() * ratio));
+
+            BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = scaled.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = scaled;
+        }
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,15 @@
+package com.eventostech.api.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Indica que a imagem de um evento não pôde ser enviada ao armazenamento de objetos.
+ */
+@ResponseStatus(HttpStatus.BAD_GATEWAY)
+public class ImageUploadException extends RuntimeException {
+
+    public ImageUploadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
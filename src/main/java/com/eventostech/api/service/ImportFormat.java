@@ -0,0 +1,42 @@
+package com.eventostech.api.service;
+
+import java.util.Locale;
+
+/**
+ * Formatos aceitos na importação em lote e gerados na exportação do catálogo.
+ */
+public enum ImportFormat {
+    NDJSON("application/x-ndjson"), // Um objeto JSON por linha
+    CSV("text/csv");                // Cabeçalho com os nomes das colunas na primeira linha
+
+    private final String contentType;
+
+    ImportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * Content-Type usado nas respostas neste formato.
+     */
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Resolve o formato a partir do Content-Type da requisição.
+     *
+     * @param contentType Valor do cabeçalho Content-Type.
+     * @return Formato correspondente.
+     * @throws IllegalArgumentException Se o tipo não for suportado.
+     */
+    public static ImportFormat fromContentType(String contentType) {
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+            return NDJSON;
+        }
+        if (type.startsWith("text/csv")) {
+            return CSV;
+        }
+        throw new IllegalArgumentException("Formato de importação não suportado: " + contentType);
+    }
+}
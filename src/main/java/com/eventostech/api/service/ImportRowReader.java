@@ -0,0 +1,125 @@
+package com.eventostech.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lê a entrada da importação linha a linha, sem carregar o arquivo inteiro em memória.
+ * Linhas CSV são convertidas para o mesmo tipo das linhas NDJSON (pelos nomes das colunas do cabeçalho).
+ * Linhas que não podem ser lidas são devolvidas com a mensagem de erro, sem interromper a leitura.
+ */
+class ImportRowReader<T> implements Closeable {
+
+    record Row<T>(long line, T value, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final Class<T> type;
+    private final ObjectMapper objectMapper;
+
+    private String[] header; // Colunas do CSV, lidas da primeira linha não vazia
+    private long lineNumber;
+
+    ImportRowReader(InputStream input, ImportFormat format, Class<T> type, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.type = type;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lê a próxima linha com conteúdo.
+     *
+     * @return Linha lida (com o valor ou o erro), ou nulo no fim da entrada.
+     * @throws IOException Se houver erro de leitura da entrada.
+     */
+    Row<T> next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == ImportFormat.CSV && header == null) {
+                header = parseCsv(line).stream().map(String::trim).toArray(String[]::new);
+                continue;
+            }
+            try {
+                return new Row<>(lineNumber, this.parse(line), null);
+            } catch (JsonProcessingException e) {
+                return new Row<>(lineNumber, null, "Linha inválida: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                String message = e.getCause() instanceof JsonProcessingException cause ? cause.getOriginalMessage() : e.getMessage();
+                return new Row<>(lineNumber, null, "Linha inválida: " + message);
+            }
+        }
+        return null;
+    }
+
+    private T parse(String line) throws JsonProcessingException {
+        if (format == ImportFormat.NDJSON) {
+            return objectMapper.readValue(line, type);
+        }
+        List<String> values = parseCsv(line);
+        if (values.size() != header.length) {
+            throw new IllegalArgumentException("esperadas " + header.length + " colunas, encontradas " + values.size());
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            String value = values.get(i);
+            fields.put(header[i], value.isEmpty() ? null : value);
+        }
+        return objectMapper.convertValue(fields, type);
+    }
+
+    /**
+     * Separa uma linha CSV em campos, aceitando campos entre aspas (com "" para aspas literais).
+     */
+    private static List<String> parseCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
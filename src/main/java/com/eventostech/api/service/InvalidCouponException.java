@@ -0,0 +1,15 @@
+package com.eventostech.api.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Indica que os dados de um cupom a ser cadastrado são inválidos (por exemplo, limites de uso não positivos).
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCouponException extends IllegalArgumentException {
+
+    public InvalidCouponException(String message) {
+        super(message);
+    }
+}
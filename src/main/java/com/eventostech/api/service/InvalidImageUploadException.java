@@ -0,0 +1,16 @@
+package com.eventostech.api.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Indica que uma imagem enviada diretamente ao armazenamento (ou o pedido de envio) não atende às
+ * restrições de tipo, tamanho ou chave.
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class InvalidImageUploadException extends RuntimeException {
+
+    public InvalidImageUploadException(String message) {
+        super(message);
+    }
+}
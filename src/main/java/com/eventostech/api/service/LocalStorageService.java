@@ -0,0 +1,127 @@
+package com.eventostech.api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Armazenamento em diretório local, para testes e desenvolvimento sem acesso à AWS.
+ * Os envios são concluídos de forma síncrona, no thread de quem chama. As URLs "pré-assinadas" apenas
+ * apontam para a URL pública do objeto: este armazenamento não recebe PUTs, então o envio direto é
+ * simulado gravando o arquivo no diretório.
+ */
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalStorageService implements StorageService {
+
+    private final Path root; // Diretório onde os objetos são gravados
+    private final String baseUrl; // Prefixo das URLs públicas dos objetos
+    private final Map<String, String> contentTypes = new ConcurrentHashMap<>(); // Tipo informado em cada envio
+
+    public LocalStorageService(@Value("${storage.local.directory}") Path root,
+                               @Value("${storage.local.base-url}") String baseUrl) {
+        this.root = root.toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    @Override
+    public CompletableFuture<String> put(String key, Path file, String contentType) {
+        try {
+            Files.copy(file, this.resolve(key), StandardCopyOption.REPLACE_EXISTING);
+            this.rememberContentType(key, contentType);
+            return CompletableFuture.completedFuture(this.url(key));
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> put(String key, byte[] content, String contentType) {
+        try {
+            Files.write(this.resolve(key), content);
+            this.rememberContentType(key, contentType);
+            return CompletableFuture.completedFuture(this.url(key));
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> put(String key, InputStream content, long contentLength, String contentType) {
+        try {
+            Files.copy(content, this.resolve(key), StandardCopyOption.REPLACE_EXISTING);
+            this.rememberContentType(key, contentType);
+            return CompletableFuture.completedFuture(this.url(key));
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public PresignedUpload presignPut(String key, String contentType, long contentLength, Duration ttl) {
+        return new PresignedUpload(this.url(key), Map.of("Content-Type", contentType), Instant.now().plus(ttl));
+    }
+
+    @Override
+    public CompletableFuture<Optional<StoredObject>> head(String key) {
+        try {
+            Path path = this.resolve(key);
+            String contentType = contentTypes.get(key);
+            return CompletableFuture.completedFuture(Optional.of(new StoredObject(Files.size(path),
+                    contentType != null ? contentType : Files.probeContentType(path))));
+        } catch (NoSuchFileException e) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        try {
+            Files.deleteIfExists(this.resolve(key));
+            contentTypes.remove(key);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public String url(String key) {
+        return baseUrl + key;
+    }
+
+    private void rememberContentType(String key, String contentType) {
+        if (contentType != null) {
+            contentTypes.put(key, contentType);
+        } else {
+            contentTypes.remove(key);
+        }
+    }
+
+    /**
+     * Resolve o caminho do objeto, recusando chaves que saiam do diretório raiz.
+     */
+    private Path resolve(String key) throws IOException {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Chave de objeto inválida: " + key);
+        }
+        Files.createDirectories(path.getParent());
+        return path;
+    }
+}
@@ -0,0 +1,129 @@
+package com.eventostech.api.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetUrlRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Armazenamento no Amazon S3 com o cliente assíncrono do SDK v2 (Netty, sem thread bloqueada por envio).
+ * O limite de conexões e a fila de espera por conexão são configurados no cliente (ver AWSconfig);
+ * objetos acima do limite de multipart são enviados em partes pelo próprio cliente.
+ */
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3StorageService implements StorageService {
+
+    private final S3AsyncClient s3Client; // Cliente assíncrono do Amazon S3
+    private final S3Presigner presigner; // Gera URLs pré-assinadas para envio direto ao bucket
+    private final String bucketName; // Nome do bucket no Amazon S3
+    private final ExecutorService streamReaders = Executors.newVirtualThreadPerTaskExecutor(); // Leitura dos streams bloqueantes
+
+    public S3StorageService(S3AsyncClient s3Client, S3Presigner presigner, @Value("${aws.bucket.name}") String bucketName) {
+        this.s3Client = s3Client;
+        this.presigner = presigner;
+        this.bucketName = bucketName;
+    }
+
+    @Override
+    public CompletableFuture<String> put(String key, Path file, String contentType) {
+        return this.put(key, AsyncRequestBody.fromFile(file), file.toFile().length(), contentType);
+    }
+
+    @Override
+    public CompletableFuture<String> put(String key, byte[] content, String contentType) {
+        return this.put(key, AsyncRequestBody.fromBytes(content), content.length, contentType);
+    }
+
+    @Override
+    public CompletableFuture<String> put(String key, InputStream content, long contentLength, String contentType) {
+        return this.put(key, AsyncRequestBody.fromInputStream(content, contentLength, streamReaders), contentLength, contentType);
+    }
+
+    private CompletableFuture<String> put(String key, AsyncRequestBody body, long contentLength, String contentType) {
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .build();
+
+        return s3Client.putObject(request, body).thenApply(response -> this.url(key));
+    }
+
+    @Override
+    public PresignedUpload presignPut(String key, String contentType, long contentLength, Duration ttl) {
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .putObjectRequest(PutObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength(contentLength)
+                        .build())
+                .build());
+
+        // O Host é definido pela própria URL; os demais cabeçalhos assinados precisam ser repetidos pelo cliente
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!"host".equalsIgnoreCase(name)) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+        return new PresignedUpload(presigned.url().toString(), headers, presigned.expiration());
+    }
+
+    @Override
+    public CompletableFuture<Optional<StoredObject>> head(String key) {
+        return s3Client.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key).build())
+                .handle((response, error) -> {
+                    if (error == null) {
+                        return Optional.of(new StoredObject(response.contentLength(), response.contentType()));
+                    }
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof S3Exception s3Error && s3Error.statusCode() == 404) {
+                        return Optional.empty();
+                    }
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        return s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucketName).key(key).build())
+                .thenApply(response -> null);
+    }
+
+    @Override
+    public String url(String key) {
+        return s3Client.utilities()
+                .getUrl(GetUrlRequest.builder().bucket(bucketName).key(key).build())
+                .toString();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamReaders.shutdown();
+    }
+}
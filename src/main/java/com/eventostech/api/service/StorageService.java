@@ -0,0 +1,102 @@
+package com.eventostech.api.service;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Armazenamento de objetos (imagens dos eventos). Os envios são assíncronos e concluem com a URL
+ * pública do objeto, calculada localmente a partir da chave, sem chamada adicional ao armazenamento.
+ */
+public interface StorageService {
+
+    /**
+     * Envia o conteúdo de um arquivo local.
+     *
+     * @param key         Chave do objeto.
+     * @param file        Arquivo com o conteúdo.
+     * @param contentType Tipo do conteúdo (pode ser nulo).
+     * @return URL pública do objeto, quando o envio terminar.
+     */
+    CompletableFuture<String> put(String key, Path file, String contentType);
+
+    /**
+     * Envia um conteúdo já em memória.
+     *
+     * @param key         Chave do objeto.
+     * @param content     Conteúdo do objeto.
+     * @param contentType Tipo do conteúdo (pode ser nulo).
+     * @return URL pública do objeto, quando o envio terminar.
+     */
+    CompletableFuture<String> put(String key, byte[] content, String contentType);
+
+    /**
+     * Envia o conteúdo lido de um stream, sem carregá-lo inteiro em memória. O stream deve permanecer
+     * aberto até a conclusão do envio.
+     *
+     * @param key           Chave do objeto.
+     * @param content       Stream com o conteúdo.
+     * @param contentLength Tamanho do conteúdo, em bytes.
+     * @param contentType   Tipo do conteúdo (pode ser nulo).
+     * @return URL pública do objeto, quando o envio terminar.
+     */
+    CompletableFuture<String> put(String key, InputStream content, long contentLength, String contentType);
+
+    /**
+     * Gera uma URL pré-assinada para que o cliente envie o objeto diretamente ao armazenamento (PUT),
+     * sem que o conteúdo passe pela API. O tipo e o tamanho fazem parte da assinatura.
+     *
+     * @param key           Chave do objeto.
+     * @param contentType   Tipo do conteúdo que será enviado.
+     * @param contentLength Tamanho do conteúdo, em bytes.
+     * @param ttl           Validade da URL.
+     * @return URL, cabeçalhos que devem acompanhar o PUT e instante de expiração.
+     */
+    PresignedUpload presignPut(String key, String contentType, long contentLength, Duration ttl);
+
+    /**
+     * Consulta os metadados de um objeto, sem baixar o conteúdo.
+     *
+     * @param key Chave do objeto.
+     * @return Tamanho e tipo do objeto, ou vazio se ele não existir.
+     */
+    CompletableFuture<Optional<StoredObject>> head(String key);
+
+    /**
+     * Remove um objeto. Remover um objeto inexistente não é erro.
+     *
+     * @param key Chave do objeto.
+     */
+    CompletableFuture<Void> delete(String key);
+
+    /**
+     * Calcula a URL pública de um objeto.
+     *
+     * @param key Chave do objeto.
+     * @return URL pública do objeto.
+     */
+    String url(String key);
+
+    /**
+     * URL pré-assinada para envio direto de um objeto.
+     *
+     * @param url       URL para o PUT.
+     * @param headers   Cabeçalhos assinados que o cliente deve enviar no PUT.
+     * @param expiresAt Instante a partir do qual a URL deixa de ser aceita.
+     */
+    record PresignedUpload(String url, Map<String, String> headers, Instant expiresAt) {
+    }
+
+    /**
+     * Metadados de um objeto armazenado.
+     *
+     * @param contentLength Tamanho, em bytes.
+     * @param contentType   Tipo do conteúdo (pode ser nulo).
+     */
+    record StoredObject(long contentLength, String contentType) {
+    }
+}
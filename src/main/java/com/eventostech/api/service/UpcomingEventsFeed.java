@@ -0,0 +1,254 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.event.EventChangedEvent;
+import com.eventostech.api.domain.event.EventCursor;
+import com.eventostech.api.domain.event.EventPageDTO;
+import com.eventostech.api.domain.event.EventResponseDTO;
+import com.eventostech.api.repositories.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Snapshot em memória dos eventos futuros, ordenado por (date, id) como a consulta do banco.
+ * As páginas da listagem principal são servidas daqui sem acessar o PostgreSQL; o limite "a partir
+ * de agora" é aplicado a cada leitura, então eventos que já passaram nunca aparecem, mesmo antes de
+ * serem removidos pela limpeza periódica.
+ * O snapshot guarda no máximo feed.upcoming.max-events eventos: quando há mais eventos futuros, ele
+ * contém apenas os primeiros (um prefixo contínuo da listagem) e as páginas além dele vêm do banco.
+ * É atualizado de forma incremental quando eventos são criados ou alterados, neste nó (após o commit)
+ * ou em outros (pelo fluxo de alterações, via ChangeFollower), e reconstruído por completo periodicamente.
+ */
+@Slf4j
+@Component
+public class UpcomingEventsFeed {
+
+    private static final int LOAD_BATCH_SIZE = 1000; // Eventos lidos por consulta durante a reconstrução
+
+    @Autowired
+    private EventRepository repository; // Repositório usado para carregar o snapshot
+
+    @Value("${feed.upcoming.enabled}")
+    private boolean enabled; // Se falso, a listagem sempre consulta o banco
+
+    @Value("${feed.upcoming.max-events}")
+    private int maxEvents; // Maior quantidade de eventos mantida em memória
+
+    private volatile Snapshot snapshot; // Nulo até a primeira carga
+    private volatile Set<UUID> changedDuringRebuild; // Eventos alterados enquanto uma reconstrução está em curso
+
+    /**
+     * Obtém uma página de eventos futuros a partir do snapshot.
+     *
+     * @param page Número da página requisitada.
+     * @param size Tamanho da página.
+     * @return Eventos da página, ou vazio se o snapshot não estiver disponível ou não cobrir a página.
+     */
+    public Optional<List<EventResponseDTO>> page(int page, int size) {
+        Snapshot current = this.snapshot;
+        NavigableMap<EventCursor, EventResponseDTO> upcoming = this.upcoming(current);
+        if (upcoming == null) {
+            return Optional.empty();
+        }
+        List<EventResponseDTO> events = upcoming.values().stream()
+                .skip((long) page * size)
+                .limit(size)
+                .toList();
+        if (events.size() < size && !current.complete) {
+            // A página passa do fim do snapshot, mas há eventos futuros que não estão nele
+            return Optional.empty();
+        }
+        return Optional.of(events);
+    }
+
+    /**
+     * Obtém uma página de eventos futuros após o cursor, a partir do snapshot.
+     *
+     * @param cursor Posição do último evento já entregue (nulo para a primeira página).
+     * @param size   Tamanho da página.
+     * @return Eventos da página e o token da próxima página, ou vazio se o snapshot não estiver
+     *         disponível ou não cobrir a página.
+     */
+    public Optional<EventPageDTO> pageAfter(EventCursor cursor, int size) {
+        Snapshot current = this.snapshot;
+        NavigableMap<EventCursor, EventResponseDTO> upcoming = this.upcoming(current);
+        if (upcoming == null) {
+            return Optional.empty();
+        }
+        if (cursor != null) {
+            upcoming = upcoming.tailMap(cursor, false);
+        }
+        List<EventResponseDTO> events = upcoming.values().stream().limit(size + 1L).toList();
+        if (events.size() <= size) {
+            return current.complete ? Optional.of(new EventPageDTO(events, null)) : Optional.empty();
+        }
+        events = events.subList(0, size);
+        return Optional.of(new EventPageDTO(events, EventCursor.after(events.get(size - 1)).encode()));
+    }
+
+    /**
+     * Identifica o início da listagem no instante atual. Como o snapshot só muda junto com a versão
+     * dos dados, versão + primeiro evento futuro determinam o conteúdo de qualquer página.
+     *
+     * @return ID do primeiro evento futuro ("none" se não houver), ou vazio se o snapshot não estiver disponível.
+     */
+    public Optional<String> headMarker() {
+        Snapshot current = this.snapshot;
+        NavigableMap<EventCursor, EventResponseDTO> upcoming = this.upcoming(current);
+        if (upcoming == null) {
+            return Optional.empty();
+        }
+        Map.Entry<EventCursor, EventResponseDTO> head = upcoming.firstEntry();
+        if (head == null && !current.complete) {
+            return Optional.empty();
+        }
+        return Optional.of(head != null ? head.getKey().id().toString() : "none");
+    }
+
+    /**
+     * Visão do snapshot restrita aos eventos com data igual ou posterior ao instante atual.
+     */
+    private NavigableMap<EventCursor, EventResponseDTO> upcoming(Snapshot current) {
+        if (!enabled || current == null) {
+            return null;
+        }
+        return current.events.tailMap(new EventCursor(new Date(), EventCursor.MIN_ID), true);
+    }
+
+    /**
+     * Reconstrói o snapshot, lendo os eventos futuros em lotes pelo índice (date, id) até o limite de
+     * eventos em memória. Alterações recebidas durante a reconstrução são reaplicadas sobre o novo snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${feed.upcoming.rebuild-interval}", fixedDelayString = "${feed.upcoming.rebuild-interval}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Set<UUID> changed = ConcurrentHashMap.newKeySet();
+        this.changedDuringRebuild = changed;
+
+        ConcurrentSkipListMap<EventCursor, EventResponseDTO> rebuilt = new ConcurrentSkipListMap<>(EventCursor.ORDER);
+        Date now = new Date();
+        Slice<EventResponseDTO> slice = repository.findUpcomingEvents(now, PageRequest.of(0, Math.min(LOAD_BATCH_SIZE, maxEvents)));
+        slice.forEach(event -> rebuilt.put(EventCursor.after(event), event));
+        int loaded = slice.getNumberOfElements();
+        while (slice.hasNext() && loaded < maxEvents) {
+            EventCursor last = rebuilt.lastKey();
+            slice = repository.findUpcomingEventsAfter(now, last.date(), last.id(),
+                    PageRequest.of(0, Math.min(LOAD_BATCH_SIZE, maxEvents - loaded)));
+            slice.forEach(event -> rebuilt.put(EventCursor.after(event), event));
+            loaded += slice.getNumberOfElements();
+        }
+
+        this.snapshot = new Snapshot(rebuilt, loaded, !slice.hasNext());
+        this.changedDuringRebuild = null;
+        changed.forEach(this::refresh);
+        log.debug("Snapshot de eventos futuros reconstruído com {} eventos", loaded);
+    }
+
+    /**
+     * Remove do snapshot os eventos que já passaram, liberando memória.
+     */
+    @Scheduled(fixedDelayString = "${feed.upcoming.evict-interval}")
+    public void evictPastEvents() {
+        Snapshot current = this.snapshot;
+        if (current != null) {
+            current.evictBefore(new EventCursor(new Date(), EventCursor.MIN_ID));
+        }
+    }
+
+    /**
+     * Atualiza o evento alterado no snapshot após o commit da transação que o alterou.
+     *
+     * @param event Notificação de alteração do evento.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        if (enabled && !event.type().isCouponChange()) {
+            this.refresh(event.eventId());
+        }
+    }
+
+    /**
+     * Recarrega um evento do banco e o posiciona no snapshot atual. A data do evento não muda após
+     * a criação, então a chave (date, id) é estável e o put substitui a versão anterior.
+     */
+    private void refresh(UUID eventId) {
+        Set<UUID> changed = this.changedDuringRebuild;
+        if (changed != null) {
+            changed.add(eventId);
+        }
+        Snapshot current = this.snapshot;
+        if (current == null) {
+            return;
+        }
+        repository.findResponseById(eventId)
+                .filter(event -> !event.date().before(new Date()))
+                .ifPresent(current::put);
+    }
+
+    /**
+     * Eventos do snapshot. Quando incompleto, contém apenas os primeiros eventos futuros, e eventos
+     * posteriores ao último deles não são incluídos (o snapshot continua sendo um prefixo da listagem).
+     */
+    private final class Snapshot {
+
+        private final ConcurrentSkipListMap<EventCursor, EventResponseDTO> events;
+        private final AtomicInteger size;
+        private volatile boolean complete; // Verdadeiro se contém todos os eventos futuros
+
+        Snapshot(ConcurrentSkipListMap<EventCursor, EventResponseDTO> events, int size, boolean complete) {
+            this.events = events;
+            this.size = new AtomicInteger(size);
+            this.complete = complete;
+        }
+
+        void put(EventResponseDTO event) {
+            EventCursor key = EventCursor.after(event);
+            if (!complete) {
+                Map.Entry<EventCursor, EventResponseDTO> last = events.lastEntry();
+                if (last == null || EventCursor.ORDER.compare(key, last.getKey()) > 0) {
+                    return;
+                }
+            }
+            if (events.put(key, event) == null && size.incrementAndGet() > maxEvents) {
+                // Acima do limite: descarta o último evento, que passa a ser servido pelo banco
+                complete = false;
+                if (events.pollLastEntry() != null) {
+                    size.decrementAndGet();
+                }
+            }
+        }
+
+        void evictBefore(EventCursor now) {
+            NavigableMap<EventCursor, EventResponseDTO> past = events.headMap(now, false);
+            for (EventCursor key : past.keySet()) {
+                if (past.remove(key) != null) {
+                    size.decrementAndGet();
+                }
+            }
+        }
+    }
+}
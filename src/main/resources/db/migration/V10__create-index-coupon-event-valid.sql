@@ -0,0 +1 @@
+CREATE INDEX idx_coupon_event_valid ON coupon (event_id, valid);
@@ -0,0 +1,19 @@
+-- Chaves normalizadas (sem acentos, minúsculas, espaços simples), equivalentes a AddressKey.of
+ALTER TABLE address
+ADD COLUMN city_key VARCHAR(100),
+ADD COLUMN uf_key VARCHAR(100);
+
+UPDATE address SET
+    city_key = lower(btrim(regexp_replace(translate(city,
+        'ÁÀÂÃÄÉÈÊËÍÌÎÏÓÒÔÕÖÚÙÛÜÇÑáàâãäéèêëíìîïóòôõöúùûüçñ',
+        'AAAAAEEEEIIIIOOOOOUUUUCNaaaaaeeeeiiiiooooouuuucn'), '\s+', ' ', 'g'))),
+    uf_key = lower(btrim(regexp_replace(translate(uf,
+        'ÁÀÂÃÄÉÈÊËÍÌÎÏÓÒÔÕÖÚÙÛÜÇÑáàâãäéèêëíìîïóòôõöúùûüçñ',
+        'AAAAAEEEEIIIIOOOOOUUUUCNaaaaaeeeeiiiiooooouuuucn'), '\s+', ' ', 'g')));
+
+ALTER TABLE address
+ALTER COLUMN city_key SET NOT NULL,
+ALTER COLUMN uf_key SET NOT NULL;
+
+CREATE INDEX idx_address_uf_city_key ON address (uf_key, city_key);
+CREATE INDEX idx_address_event_id ON address (event_id);
@@ -0,0 +1,8 @@
+ALTER TABLE event ADD COLUMN updated_at TIMESTAMP;
+
+UPDATE event SET updated_at = CURRENT_TIMESTAMP;
+
+ALTER TABLE event ALTER COLUMN updated_at SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE event ALTER COLUMN updated_at SET NOT NULL;
+
+CREATE INDEX idx_event_updated_at_id ON event (updated_at, id);
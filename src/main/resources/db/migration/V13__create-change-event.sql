@@ -0,0 +1,13 @@
+CREATE TABLE change_event(
+    id BIGSERIAL PRIMARY KEY,
+    event_id UUID NOT NULL,
+    change_type VARCHAR(30) NOT NULL,
+    payload TEXT,
+    created_at TIMESTAMP NOT NULL,
+    published_seq BIGINT,
+    published_at TIMESTAMP,
+    CONSTRAINT uk_change_event_published_seq UNIQUE (published_seq)
+);
+
+CREATE INDEX idx_change_event_unpublished ON change_event (id) WHERE published_seq IS NULL;
+CREATE INDEX idx_change_event_published_at ON change_event (published_at);
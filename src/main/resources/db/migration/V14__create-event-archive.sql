@@ -0,0 +1,139 @@
+-- Armazenamento frio: eventos e cupons expirados saem das tabelas quentes (event, coupon), que ficam
+-- restritas aos dados que as listagens consultam, e vão para tabelas particionadas por mês.
+CREATE TABLE event_archive(
+    id UUID NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    description VARCHAR(250) NOT NULL,
+    img_url VARCHAR(255),
+    medium_url VARCHAR(255),
+    thumb_url VARCHAR(255),
+    img_status VARCHAR(20) NOT NULL,
+    event_url VARCHAR(100) NOT NULL,
+    remote BOOLEAN NOT NULL,
+    date TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    city VARCHAR(100),
+    uf VARCHAR(100),
+    archived_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, date)
+) PARTITION BY RANGE (date);
+
+CREATE TABLE coupon_archive(
+    id UUID NOT NULL,
+    code VARCHAR(100) NOT NULL,
+    discount INTEGER NOT NULL,
+    valid TIMESTAMP NOT NULL,
+    event_id UUID,
+    max_uses INTEGER,
+    per_user_limit INTEGER,
+    uses INTEGER NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, valid)
+) PARTITION BY RANGE (valid);
+
+CREATE INDEX idx_coupon_archive_event_id ON coupon_archive (event_id);
+
+CREATE TABLE coupon_redemption_archive(
+    id UUID PRIMARY KEY,
+    coupon_id UUID NOT NULL,
+    user_id VARCHAR(100),
+    redeemed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_coupon_redemption_archive_coupon_user ON coupon_redemption_archive (coupon_id, user_id);
+
+-- Cria (se ainda não existir) a partição mensal da tabela de arquivo que contém o instante informado
+CREATE OR REPLACE FUNCTION ensure_archive_partition(parent TEXT, instant TIMESTAMP) RETURNS VOID AS $$
+DECLARE
+    month_start DATE := date_trunc('month', instant)::DATE;
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   parent || '_' || to_char(month_start, '"y"YYYY"m"MM'), parent,
+                   month_start, (month_start + INTERVAL '1 month')::DATE);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Move um lote de eventos anteriores ao corte (com endereço, cupons e resgates) para o arquivo.
+-- Apenas uma execução por vez (advisory lock); as demais retornam vazio.
+CREATE OR REPLACE FUNCTION archive_past_events(cutoff TIMESTAMP, batch_size INTEGER) RETURNS SETOF UUID AS $$
+DECLARE
+    batch UUID[];
+    month TIMESTAMP;
+BEGIN
+    IF NOT pg_try_advisory_xact_lock(hashtext('archive_past_events')) THEN
+        RETURN;
+    END IF;
+
+    SELECT array_agg(id) INTO batch FROM (
+        SELECT id FROM event WHERE date < cutoff ORDER BY date, id LIMIT batch_size FOR UPDATE SKIP LOCKED
+    ) expired;
+    IF batch IS NULL THEN
+        RETURN;
+    END IF;
+
+    FOR month IN SELECT DISTINCT date_trunc('month', date) FROM event WHERE id = ANY(batch) LOOP
+        PERFORM ensure_archive_partition('event_archive', month);
+    END LOOP;
+    FOR month IN SELECT DISTINCT date_trunc('month', valid) FROM coupon WHERE event_id = ANY(batch) LOOP
+        PERFORM ensure_archive_partition('coupon_archive', month);
+    END LOOP;
+
+    INSERT INTO event_archive (id, title, description, img_url, medium_url, thumb_url, img_status, event_url,
+                               remote, date, updated_at, city, uf, archived_at)
+    SELECT e.id, e.title, e.description, e.img_url, e.medium_url, e.thumb_url, e.img_status, e.event_url,
+           e.remote, e.date, e.updated_at, a.city, a.uf, now()
+    FROM event e LEFT JOIN address a ON a.event_id = e.id
+    WHERE e.id = ANY(batch);
+
+    INSERT INTO coupon_archive (id, code, discount, valid, event_id, max_uses, per_user_limit, uses, archived_at)
+    SELECT id, code, discount, valid, event_id, max_uses, per_user_limit, uses, now()
+    FROM coupon WHERE event_id = ANY(batch);
+
+    INSERT INTO coupon_redemption_archive (id, coupon_id, user_id, redeemed_at)
+    SELECT r.id, r.coupon_id, r.user_id, r.redeemed_at
+    FROM coupon_redemption r JOIN coupon c ON c.id = r.coupon_id
+    WHERE c.event_id = ANY(batch);
+
+    -- Endereço, cupons e resgates são removidos em cascata
+    DELETE FROM event WHERE id = ANY(batch);
+
+    RETURN QUERY SELECT unnest(batch);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Move um lote de cupons vencidos antes do corte (com seus resgates) para o arquivo.
+CREATE OR REPLACE FUNCTION archive_expired_coupons(cutoff TIMESTAMP, batch_size INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    batch UUID[];
+    month TIMESTAMP;
+BEGIN
+    IF NOT pg_try_advisory_xact_lock(hashtext('archive_expired_coupons')) THEN
+        RETURN 0;
+    END IF;
+
+    SELECT array_agg(id) INTO batch FROM (
+        SELECT id FROM coupon WHERE valid < cutoff ORDER BY valid, id LIMIT batch_size FOR UPDATE SKIP LOCKED
+    ) expired;
+    IF batch IS NULL THEN
+        RETURN 0;
+    END IF;
+
+    FOR month IN SELECT DISTINCT date_trunc('month', valid) FROM coupon WHERE id = ANY(batch) LOOP
+        PERFORM ensure_archive_partition('coupon_archive', month);
+    END LOOP;
+
+    INSERT INTO coupon_archive (id, code, discount, valid, event_id, max_uses, per_user_limit, uses, archived_at)
+    SELECT id, code, discount, valid, event_id, max_uses, per_user_limit, uses, now()
+    FROM coupon WHERE id = ANY(batch);
+
+    INSERT INTO coupon_redemption_archive (id, coupon_id, user_id, redeemed_at)
+    SELECT id, coupon_id, user_id, redeemed_at
+    FROM coupon_redemption WHERE coupon_id = ANY(batch);
+
+    DELETE FROM coupon WHERE id = ANY(batch);
+
+    RETURN array_length(batch, 1);
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE INDEX idx_coupon_valid ON coupon (valid);
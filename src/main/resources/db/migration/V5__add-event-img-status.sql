@@ -0,0 +1,7 @@
+ALTER TABLE event
+ADD COLUMN img_status VARCHAR(20) NOT NULL DEFAULT 'NONE';
+
+ALTER TABLE event
+ALTER COLUMN img_url DROP NOT NULL;
+
+UPDATE event SET img_status = 'READY' WHERE img_url IS NOT NULL AND img_url <> '';
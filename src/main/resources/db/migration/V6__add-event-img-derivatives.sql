@@ -0,0 +1,3 @@
+ALTER TABLE event
+ADD COLUMN thumb_url VARCHAR(255),
+ADD COLUMN medium_url VARCHAR(255);
@@ -0,0 +1 @@
+CREATE INDEX idx_event_date_id ON event (date, id);
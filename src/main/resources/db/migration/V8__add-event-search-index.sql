@@ -0,0 +1,10 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE event
+ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('portuguese', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('portuguese', coalesce(description, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_event_search_vector ON event USING GIN (search_vector);
+CREATE INDEX idx_event_title_trgm ON event USING GIN (title gin_trgm_ops);
@@ -0,0 +1,36 @@
+-- Códigos repetidos no mesmo evento impedem o índice único. Nenhum cupom é removido: o de maior
+-- validade mantém o código e os demais recebem o sufixo determinístico "-DUP<n>" (n pela ordem de
+-- validade), com um aviso no log da migração para que o organizador os revise.
+DO $$
+DECLARE
+    renamed INTEGER;
+BEGIN
+    UPDATE coupon c
+    SET code = LEFT(c.code, 90) || '-DUP' || d.position
+    FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY event_id, code ORDER BY valid DESC, id DESC) - 1 AS position
+          FROM coupon
+          WHERE event_id IS NOT NULL) d
+    WHERE c.id = d.id
+      AND d.position > 0;
+    GET DIAGNOSTICS renamed = ROW_COUNT;
+    IF renamed > 0 THEN
+        RAISE WARNING 'V9: % cupom(ns) com código repetido no mesmo evento renomeado(s) com o sufixo -DUP<n>', renamed;
+    END IF;
+END $$;
+
+ALTER TABLE coupon
+ADD COLUMN max_uses INTEGER,
+ADD COLUMN per_user_limit INTEGER,
+ADD COLUMN uses INTEGER NOT NULL DEFAULT 0,
+ADD CONSTRAINT uk_coupon_event_code UNIQUE (event_id, code),
+ADD CONSTRAINT ck_coupon_uses CHECK (max_uses IS NULL OR uses <= max_uses);
+
+CREATE TABLE coupon_redemption(
+    id UUID DEFAULT gen_random_uuid() PRIMARY KEY,
+    coupon_id UUID NOT NULL,
+    user_id VARCHAR(100),
+    redeemed_at TIMESTAMP NOT NULL,
+    FOREIGN KEY(coupon_id) REFERENCES coupon(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_coupon_redemption_coupon_user ON coupon_redemption (coupon_id, user_id);
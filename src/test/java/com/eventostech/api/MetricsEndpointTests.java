@@ -0,0 +1,38 @@
+package com.eventostech.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricsEndpointTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void prometheusEndpointExposesRepositoryStorageAndPoolMetrics() throws Exception {
+		mockMvc.perform(get("/api/event/search").param("title", "arquitetura"))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+				.andExpect(content().string(containsString("method=\"searchEvents\"")))
+				.andExpect(content().string(containsString("storage_operations_seconds_count{")))
+				.andExpect(content().string(containsString("image_upload_failures_total{")))
+				.andExpect(content().string(containsString("hikaricp_connections_active{")));
+	}
+}
@@ -0,0 +1,27 @@
+package com.eventostech.api;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta as instruções SQL preparadas pelo Hibernate na thread atual. Ao contrário das estatísticas
+ * da SessionFactory, não soma as consultas de tarefas em segundo plano (relay da outbox, reconstrução
+ * de snapshots) que rodam em outras threads durante o teste.
+ */
+public class StatementCounter implements StatementInspector {
+
+	private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+	@Override
+	public String inspect(String sql) {
+		COUNT.get()[0]++;
+		return sql;
+	}
+
+	public static void reset() {
+		COUNT.get()[0] = 0;
+	}
+
+	public static int count() {
+		return COUNT.get()[0];
+	}
+}
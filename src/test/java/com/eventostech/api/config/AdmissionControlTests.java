@@ -0,0 +1,113 @@
+package com.eventostech.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"admission.rate-limit.enabled=true",
+		"admission.rate-limit.routes.event-search.limit=1",
+		"admission.rate-limit.routes.event-search.period=1h",
+		"admission.rate-limit.routes.event-search.burst=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdmissionControlTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void clientsAreLimitedPerRouteAfterTheBurst() throws Exception {
+		mockMvc.perform(get("/api/event/search").param("title", "java")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/event/search").param("title", "java")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/event/search").param("title", "java"))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().exists("Retry-After"));
+
+		// Outros clientes e outras rotas não são afetados
+		mockMvc.perform(get("/api/event/search").param("title", "java").with(request -> {
+			request.setRemoteAddr("10.0.0.2");
+			return request;
+		})).andExpect(status().isOk());
+		mockMvc.perform(get("/api/event")).andExpect(status().isOk());
+
+		assertThat(meterRegistry.get("ratelimit.rejected").tag("route", "event-search").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void clientsBehindTrustedProxiesAreIdentifiedByForwardedFor() throws Exception {
+		// Atrás do balanceador (10.0.0.9), cada cliente tem seu próprio limite
+		mockMvc.perform(this.search("10.0.0.9", "203.0.113.5")).andExpect(status().isOk());
+		mockMvc.perform(this.search("10.0.0.9", "203.0.113.5")).andExpect(status().isOk());
+		mockMvc.perform(this.search("10.0.0.9", "203.0.113.5")).andExpect(status().isTooManyRequests());
+		mockMvc.perform(this.search("10.0.0.9", "203.0.113.6")).andExpect(status().isOk());
+
+		// Um endereço inventado pelo cliente fica à esquerda do que o proxy acrescentou e é ignorado
+		mockMvc.perform(this.search("10.0.0.9", "198.51.100.1, 203.0.113.5")).andExpect(status().isTooManyRequests());
+
+		// Conexões diretas de fora não escolhem o próprio endereço pelo cabeçalho
+		mockMvc.perform(this.search("198.51.100.7", "203.0.113.10")).andExpect(status().isOk());
+		mockMvc.perform(this.search("198.51.100.7", "203.0.113.11")).andExpect(status().isOk());
+		mockMvc.perform(this.search("198.51.100.7", "203.0.113.12")).andExpect(status().isTooManyRequests());
+	}
+
+	@Test
+	void concurrencyLimitShrinksWhenLatencyRises() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 2.0,
+				Duration.ZERO, 10, new SimpleMeterRegistry());
+
+		for (int i = 0; i < 50; i++) {
+			this.fill(limiter, 10);
+		}
+		int grown = limiter.limit();
+		assertThat(grown).isGreaterThan(10);
+
+		this.fill(limiter, 1000);
+		this.fill(limiter, 1000);
+		assertThat(limiter.limit()).isLessThan(grown);
+
+		for (int i = 0; i < limiter.limit(); i++) {
+			assertThat(limiter.tryAcquire()).isTrue();
+		}
+		assertThat(limiter.tryAcquire()).isFalse();
+	}
+
+	/**
+	 * Ocupa todas as vagas e as libera com a latência informada (uma janela a cada 10 liberações).
+	 */
+	private void fill(AdaptiveConcurrencyLimiter limiter, long latencyNanos) {
+		int permits = 0;
+		while (limiter.tryAcquire()) {
+			permits++;
+		}
+		for (int i = 0; i < permits; i++) {
+			limiter.release(latencyNanos);
+		}
+	}
+
+	private MockHttpServletRequestBuilder search(String remoteAddr, String forwardedFor) {
+		return get("/api/event/search").param("title", "java")
+				.header("X-Forwarded-For", forwardedFor)
+				.with(request -> {
+					request.setRemoteAddr(remoteAddr);
+					return request;
+				});
+	}
+}
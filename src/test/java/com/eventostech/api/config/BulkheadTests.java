@@ -0,0 +1,68 @@
+package com.eventostech.api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void nestedCallsOnTheSameThreadReuseThePermit() {
+		Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofMillis(50), meterRegistry);
+
+		try (Bulkhead.Permit outer = bulkhead.acquire()) {
+			try (Bulkhead.Permit inner = bulkhead.acquire()) {
+				assertThat(meterRegistry.get("bulkhead.active").gauge().value()).isEqualTo(1);
+			}
+			assertThat(meterRegistry.get("bulkhead.active").gauge().value()).isEqualTo(1);
+		}
+		assertThat(meterRegistry.get("bulkhead.active").gauge().value()).isZero();
+	}
+
+	@Test
+	void closingTheOuterPermitFirstKeepsTheSlotUntilTheNestedOneCloses() {
+		Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofMillis(50), meterRegistry);
+
+		Bulkhead.Permit outer = bulkhead.acquire();
+		Bulkhead.Permit inner = bulkhead.acquire();
+		outer.close();
+		outer.close();
+		assertThat(meterRegistry.get("bulkhead.active").gauge().value()).isEqualTo(1);
+
+		try (Bulkhead.Permit nested = bulkhead.acquire()) {
+			assertThat(meterRegistry.get("bulkhead.active").gauge().value()).isEqualTo(1);
+		}
+		inner.close();
+		assertThat(meterRegistry.get("bulkhead.active").gauge().value()).isZero();
+
+		try (Bulkhead.Permit next = bulkhead.acquire()) {
+			assertThat(meterRegistry.get("bulkhead.active").gauge().value()).isEqualTo(1);
+		}
+		assertThat(meterRegistry.get("bulkhead.active").gauge().value()).isZero();
+	}
+
+	@Test
+	void otherThreadsWaitAndAreRejectedAfterMaxWait() throws Exception {
+		Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofMillis(50), meterRegistry);
+
+		try (Bulkhead.Permit permit = bulkhead.acquire();
+			 var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			CompletableFuture<Void> other = CompletableFuture.runAsync(() -> bulkhead.acquire().close(), executor);
+
+			assertThatThrownBy(other::join).hasCauseInstanceOf(BulkheadFullException.class);
+		}
+		assertThat(meterRegistry.get("bulkhead.rejected").counter().count()).isEqualTo(1);
+
+		try (Bulkhead.Permit permit = bulkhead.acquire()) {
+			assertThat(meterRegistry.get("bulkhead.wait").timer().count()).isEqualTo(3);
+		}
+	}
+}
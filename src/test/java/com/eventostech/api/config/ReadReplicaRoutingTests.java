@@ -0,0 +1,114 @@
+package com.eventostech.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A "réplica" é uma segunda conexão ao mesmo banco H2 (para ter o mesmo schema), identificada pela
+ * variável de sessão @ROLE definida na abertura das conexões do pool da réplica.
+ */
+@SpringBootTest(properties = {
+		"datasource.replicas.urls=jdbc:h2:mem:testdb;INIT=CREATE TABLE IF NOT EXISTS REPLICA_LAG(MILLIS BIGINT)\\\\;SET @ROLE='replica'",
+		"datasource.replicas.lag-query=SELECT COALESCE(MAX(MILLIS), 0) FROM REPLICA_LAG",
+		"datasource.replicas.max-lag=1s"})
+@ActiveProfiles("test")
+class ReadReplicaRoutingTests {
+
+	private static final String ROLE = "SELECT COALESCE(@ROLE, 'primary')";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ReadReplicas readReplicas;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ReadYourWritesFilter readYourWritesFilter;
+
+	@AfterEach
+	void resetLag() {
+		jdbcTemplate.update("DELETE FROM REPLICA_LAG");
+		readReplicas.checkReplicas();
+		ReadYourWrites.end();
+	}
+
+	@Test
+	void readOnlyTransactionsUseTheReplicaAndOthersThePrimary() {
+		assertThat(this.role(true)).isEqualTo("replica");
+		assertThat(this.role(false)).isEqualTo("primary");
+		assertThat(jdbcTemplate.queryForObject(ROLE, String.class)).isEqualTo("primary");
+	}
+
+	@Test
+	void requestThatWroteReadsFromThePrimary() {
+		ReadYourWrites.begin();
+		assertThat(this.role(true)).isEqualTo("replica");
+
+		this.role(false);
+		assertThat(this.role(true)).isEqualTo("primary");
+
+		ReadYourWrites.end();
+		assertThat(this.role(true)).isEqualTo("replica");
+	}
+
+	@Test
+	void clientThatWroteRecentlyReadsFromThePrimaryInLaterRequests() throws Exception {
+		MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+		readYourWritesFilter.doFilter(new MockHttpServletRequest(), writeResponse, (FilterChain) (request, response) -> this.role(false));
+		Cookie cookie = writeResponse.getCookie(ReadYourWritesFilter.COOKIE);
+		assertThat(cookie).isNotNull();
+
+		AtomicReference<String> role = new AtomicReference<>();
+		MockHttpServletRequest sameClient = new MockHttpServletRequest();
+		sameClient.setCookies(cookie);
+		readYourWritesFilter.doFilter(sameClient, new MockHttpServletResponse(), (FilterChain) (request, response) -> role.set(this.role(true)));
+		assertThat(role).hasValue("primary");
+
+		MockHttpServletResponse otherResponse = new MockHttpServletResponse();
+		readYourWritesFilter.doFilter(new MockHttpServletRequest(), otherResponse, (FilterChain) (request, response) -> role.set(this.role(true)));
+		assertThat(role).hasValue("replica");
+		assertThat(otherResponse.getCookie(ReadYourWritesFilter.COOKIE)).isNull();
+	}
+
+	@Test
+	void cacheLoadsReadFromThePrimary() {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setReadOnly(true);
+		String role = transaction.execute(status -> ReadYourWrites.fromPrimary(() -> jdbcTemplate.queryForObject(ROLE, String.class)));
+		assertThat(role).isEqualTo("primary");
+	}
+
+	@Test
+	void laggingReplicaFallsBackToThePrimary() {
+		jdbcTemplate.update("INSERT INTO REPLICA_LAG (MILLIS) VALUES (5000)");
+		readReplicas.checkReplicas();
+		assertThat(this.role(true)).isEqualTo("primary");
+
+		jdbcTemplate.update("DELETE FROM REPLICA_LAG");
+		readReplicas.checkReplicas();
+		assertThat(this.role(true)).isEqualTo("replica");
+	}
+
+	private String role(boolean readOnly) {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setReadOnly(readOnly);
+		return transaction.execute(status -> jdbcTemplate.queryForObject(ROLE, String.class));
+	}
+}
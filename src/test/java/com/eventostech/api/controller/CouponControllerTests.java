@@ -0,0 +1,87 @@
+package com.eventostech.api.controller;
+
+import com.eventostech.api.domain.coupon.CouponRequestDTO;
+import com.eventostech.api.domain.event.Event;
+import com.eventostech.api.domain.event.ImageStatus;
+import com.eventostech.api.repositories.EventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CouponControllerTests {
+
+	private static final long DAY = 86_400_000L;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Test
+	void duplicateCodeIsRejectedAsConflict() throws Exception {
+		UUID eventId = this.newEvent();
+
+		this.addCoupon(eventId, new CouponRequestDTO("REPETIDO", 10, System.currentTimeMillis() + DAY, null, null))
+				.andExpect(status().isOk());
+		this.addCoupon(eventId, new CouponRequestDTO("REPETIDO", 20, System.currentTimeMillis() + DAY, null, null))
+				.andExpect(status().isConflict());
+	}
+
+	@Test
+	void nonPositiveLimitsAreRejectedAsBadRequest() throws Exception {
+		UUID eventId = this.newEvent();
+
+		this.addCoupon(eventId, new CouponRequestDTO("ZERADO", 10, System.currentTimeMillis() + DAY, 0, null))
+				.andExpect(status().isBadRequest());
+		this.addCoupon(eventId, new CouponRequestDTO("NEGATIVO", 10, System.currentTimeMillis() + DAY, null, -1))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void unknownCouponIsNotFound() throws Exception {
+		UUID eventId = this.newEvent();
+
+		mockMvc.perform(get("/api/coupon/event/{eventId}/{code}", eventId, "INEXISTENTE"))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(post("/api/coupon/event/{eventId}/{code}/redeem", eventId, "INEXISTENTE")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"userId\":\"usuario\"}"))
+				.andExpect(status().isNotFound());
+	}
+
+	private ResultActions addCoupon(UUID eventId, CouponRequestDTO coupon) throws Exception {
+		return mockMvc.perform(post("/api/coupon/event/{eventId}", eventId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsBytes(coupon)));
+	}
+
+	private UUID newEvent() {
+		Event event = new Event();
+		event.setTitle("Evento com cupons");
+		event.setDate(new Date(System.currentTimeMillis() - DAY)); // No passado, fora das listagens
+		event.setRemote(true);
+		event.setEventUrl("https://example.com");
+		event.setImgStatus(ImageStatus.NONE);
+		return eventRepository.save(event).getId();
+	}
+}
@@ -0,0 +1,103 @@
+package com.eventostech.api.controller;
+
+import com.eventostech.api.domain.event.Event;
+import com.eventostech.api.domain.event.ImageStatus;
+import com.eventostech.api.repositories.CouponRepository;
+import com.eventostech.api.repositories.EventRepository;
+import com.eventostech.api.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventControllerConditionalGetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@SpyBean
+	private EventRepository eventRepository;
+
+	@SpyBean
+	private EventService eventService;
+
+	@SpyBean
+	private CouponRepository couponRepository;
+
+	@Test
+	void revalidationWithCurrentETagReturnsNotModifiedWithoutQuerying() throws Exception {
+		MvcResult first = mockMvc.perform(get("/api/event/filter")
+						.param("city", "Recife")
+						.param("uf", "PE")
+						.param("startDate", "2030-01-01")
+						.param("endDate", "2030-12-31"))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.CACHE_CONTROL))
+				.andReturn();
+		String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(eTag).isNotBlank();
+		verify(eventRepository).findFilteredEvents(any(), any(), any(), any(), any());
+
+		clearInvocations(eventRepository);
+		mockMvc.perform(get("/api/event/filter")
+						.param("city", "Recife")
+						.param("uf", "PE")
+						.param("startDate", "2030-01-01")
+						.param("endDate", "2030-12-31")
+						.header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+		verifyNoInteractions(eventRepository);
+	}
+
+	@Test
+	void detailsRevalidationIsAnsweredBeforeLoadingTheEvent() throws Exception {
+		Event event = new Event();
+		event.setTitle("Detalhes condicionais");
+		event.setDescription("Evento da revalidação");
+		event.setEventUrl("https://eventostech.com");
+		event.setDate(new Date(System.currentTimeMillis() + 60 * 60 * 1000L));
+		event.setRemote(true);
+		event.setImgStatus(ImageStatus.NONE);
+		UUID eventId = eventRepository.save(event).getId();
+
+		String eTag = mockMvc.perform(get("/api/event/{eventId}", eventId))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		clearInvocations(eventService);
+		mockMvc.perform(get("/api/event/{eventId}", eventId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+		verify(eventService, never()).getEventDetails(eventId);
+	}
+
+	@Test
+	void unknownEventReturnsNotFound() throws Exception {
+		UUID eventId = UUID.randomUUID();
+		mockMvc.perform(get("/api/event/{eventId}", eventId))
+				.andExpect(status().isNotFound());
+		// IDs desconhecidos não são carregados no índice de cupons
+		verify(couponRepository, never()).findValidCoupons(eq(eventId), any());
+	}
+}
@@ -0,0 +1,91 @@
+package com.eventostech.api.controller;
+
+import com.eventostech.api.domain.coupon.CouponRequestDTO;
+import com.eventostech.api.domain.event.Event;
+import com.eventostech.api.domain.event.EventExportDTO;
+import com.eventostech.api.domain.event.EventsRequestDTO;
+import com.eventostech.api.service.CouponService;
+import com.eventostech.api.service.EventService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventExportTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private CouponService couponService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void incrementalExportStreamsChangedEventsWithValidCoupons() throws Exception {
+		long since = Long.parseLong(this.export("NDJSON", 0).getResponse().getHeader("X-Export-Watermark"));
+		Thread.sleep(5);
+
+		long now = System.currentTimeMillis();
+		Event first = eventService.createEvent(new EventsRequestDTO("Exportação 1", "Com cupons", now + 60_000,
+				"Recife", "PE", false, "https://eventostech.com", null));
+		Event second = eventService.createEvent(new EventsRequestDTO("Exportação 2", "Remoto, sem cupons", now + 120_000,
+				null, null, true, "https://eventostech.com", null));
+		couponService.addCouponToEvent(first.getId(), new CouponRequestDTO("EXP10", 10, now + 60_000, null, null));
+		couponService.addCouponToEvent(first.getId(), new CouponRequestDTO("EXP20", 20, now + 30_000, null, null));
+		couponService.addCouponToEvent(first.getId(), new CouponRequestDTO("EXPIRADO", 50, now - 60_000, null, null));
+
+		MvcResult result = this.export("NDJSON", since);
+		List<EventExportDTO> events = result.getResponse().getContentAsString().lines()
+				.map(line -> {
+					try {
+						return objectMapper.readValue(line, EventExportDTO.class);
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+				})
+				.toList();
+
+		assertThat(events).extracting(EventExportDTO::id).containsExactly(second.getId(), first.getId());
+		assertThat(events.get(1).city()).isEqualTo("Recife");
+		assertThat(events.get(1).coupons()).extracting(EventExportDTO.CouponDTO::code).containsExactly("EXP20", "EXP10");
+		assertThat(events.get(0).coupons()).isEmpty();
+
+		long next = Long.parseLong(result.getResponse().getHeader("X-Export-Watermark"));
+		assertThat(this.export("NDJSON", next).getResponse().getContentAsString()).isEmpty();
+
+		assertThat(this.export("CSV", since).getResponse().getContentAsString().lines().toList())
+				.hasSize(3)
+				.first().isEqualTo("id,title,description,date,city,state,remote,eventUrl,imgUrl,updatedAt,coupons");
+	}
+
+	private MvcResult export(String format, long since) throws Exception {
+		MvcResult started = mockMvc.perform(get("/api/event/export")
+						.param("format", format)
+						.param("since", Long.toString(since)))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		return mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andReturn();
+	}
+}
@@ -0,0 +1,111 @@
+package com.eventostech.api.controller;
+
+import com.eventostech.api.domain.event.Event;
+import com.eventostech.api.domain.event.ImageStatus;
+import com.eventostech.api.repositories.EventRepository;
+import com.eventostech.api.service.StorageService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventImageDirectUploadTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private StorageService storageService;
+
+	@Test
+	void confirmedUploadBecomesEventImage() throws Exception {
+		Event event = this.newEvent();
+		byte[] image = new byte[1024];
+
+		String key = this.requestUploadUrl(event, "image/png", image.length);
+		assertThat(key).startsWith("events/" + event.getId() + "/upload/");
+
+		// Simula o PUT do cliente direto no armazenamento
+		storageService.put(key, image, "image/png").join();
+
+		mockMvc.perform(post("/api/event/{eventId}/image/confirm", event.getId())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"key\":\"" + key + "\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("READY"));
+
+		Event updated = eventRepository.findById(event.getId()).orElseThrow();
+		assertThat(updated.getImgStatus()).isEqualTo(ImageStatus.READY);
+		assertThat(updated.getImgUrl()).isEqualTo(storageService.url(key));
+	}
+
+	@Test
+	void invalidUploadsAreRejected() throws Exception {
+		Event event = this.newEvent();
+
+		mockMvc.perform(post("/api/event/{eventId}/image/upload-url", event.getId())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"contentType\":\"application/pdf\",\"contentLength\":1024}"))
+				.andExpect(status().isUnprocessableEntity());
+
+		// Objeto enviado com tipo diferente do declarado: recusado na confirmação e removido
+		String key = this.requestUploadUrl(event, "image/jpeg", 1024);
+		storageService.put(key, new byte[1024], "text/html").join();
+		mockMvc.perform(post("/api/event/{eventId}/image/confirm", event.getId())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"key\":\"" + key + "\"}"))
+				.andExpect(status().isUnprocessableEntity());
+		assertThat(storageService.head(key).join()).isEmpty();
+
+		// Chave de outro evento
+		Event other = this.newEvent();
+		mockMvc.perform(post("/api/event/{eventId}/image/confirm", other.getId())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"key\":\"" + key + "\"}"))
+				.andExpect(status().isUnprocessableEntity());
+		assertThat(eventRepository.findById(other.getId()).orElseThrow().getImgStatus()).isEqualTo(ImageStatus.NONE);
+	}
+
+	private String requestUploadUrl(Event event, String contentType, long contentLength) throws Exception {
+		String response = mockMvc.perform(post("/api/event/{eventId}/image/upload-url", event.getId())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"contentType\":\"" + contentType + "\",\"contentLength\":" + contentLength + "}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.uploadUrl").isNotEmpty())
+				.andExpect(jsonPath("$.headers['Content-Type']").value(contentType))
+				.andReturn().getResponse().getContentAsString();
+		JsonNode upload = objectMapper.readTree(response);
+		return upload.get("key").asText();
+	}
+
+	private Event newEvent() {
+		Event event = new Event();
+		event.setTitle("Evento com upload direto");
+		event.setDate(new Date(System.currentTimeMillis() - 86_400_000L)); // No passado, fora das listagens
+		event.setRemote(true);
+		event.setEventUrl("https://example.com");
+		event.setImgStatus(ImageStatus.NONE);
+		return eventRepository.save(event);
+	}
+}
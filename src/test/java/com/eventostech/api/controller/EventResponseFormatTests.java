@@ -0,0 +1,147 @@
+package com.eventostech.api.controller;
+
+import com.eventostech.api.domain.event.Event;
+import com.eventostech.api.domain.event.EventsRequestDTO;
+import com.eventostech.api.service.EventService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventResponseFormatTests {
+
+	private static final TypeReference<List<Map<String, Object>>> ROWS = new TypeReference<>() {
+	};
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void filteredEventsReturnOnlySelectedFields() throws Exception {
+		Event event = eventService.createEvent(new EventsRequestDTO("Campos selecionados", "Descrição longa",
+				System.currentTimeMillis() + 86_400_000L, "Natal", "RN", false, "https://eventostech.com", null));
+
+		MvcResult result = mockMvc.perform(get("/api/event/filter")
+						.param("fields", "id,title,city")
+						.param("city", "Natal")
+						.param("uf", "RN")
+						.param("startDate", "2000-01-01")
+						.param("endDate", "2100-01-01"))
+				.andExpect(status().isOk())
+				.andReturn();
+
+		List<Map<String, Object>> rows = objectMapper.readValue(result.getResponse().getContentAsByteArray(), ROWS);
+		assertThat(rows).containsExactly(Map.of("id", event.getId().toString(), "title", "Campos selecionados", "city", "Natal"));
+	}
+
+	@Test
+	void listsAreNegotiatedAsCborWithTheirOwnETag() throws Exception {
+		eventService.createEvent(new EventsRequestDTO("Evento em CBOR", "Descrição",
+				System.currentTimeMillis() + 86_400_000L, null, null, true, "https://eventostech.com", null));
+
+		MvcResult json = mockMvc.perform(get("/api/event/filter")
+						.param("fields", "title,remote")
+						.param("city", "")
+						.param("uf", "")
+						.param("startDate", LocalDate.now().toString())
+						.param("endDate", LocalDate.now().plusDays(2).toString())
+						.param("size", "100"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andReturn();
+		MvcResult cbor = mockMvc.perform(get("/api/event/filter")
+						.param("fields", "title,remote")
+						.param("city", "")
+						.param("uf", "")
+						.param("startDate", LocalDate.now().toString())
+						.param("endDate", LocalDate.now().plusDays(2).toString())
+						.param("size", "100")
+						.accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andReturn();
+
+		byte[] cborBody = cbor.getResponse().getContentAsByteArray();
+		assertThat(new CBORMapper().readValue(cborBody, ROWS))
+				.isEqualTo(objectMapper.readValue(json.getResponse().getContentAsByteArray(), ROWS))
+				.contains(Map.of("title", "Evento em CBOR", "remote", true));
+		assertThat(cborBody.length).isLessThan(json.getResponse().getContentAsByteArray().length);
+		assertThat(cbor.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(json.getResponse().getHeader(HttpHeaders.ETAG));
+		assertThat(cbor.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+	}
+
+	@Test
+	void unknownFieldIsRejectedAsBadRequest() throws Exception {
+		mockMvc.perform(get("/api/event").param("fields", "nope"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/event/filter")
+						.param("fields", " , ")
+						.param("city", "")
+						.param("uf", "")
+						.param("startDate", "2000-01-01")
+						.param("endDate", "2100-01-01"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void eTagFollowsTheNegotiatedFormatByQuality() throws Exception {
+		MvcResult json = mockMvc.perform(get("/api/event/filter")
+						.param("fields", "title")
+						.param("city", "")
+						.param("uf", "")
+						.param("startDate", "2000-01-01")
+						.param("endDate", "2100-01-01"))
+				.andExpect(status().isOk())
+				.andReturn();
+		MvcResult preferJson = mockMvc.perform(get("/api/event/filter")
+						.param("fields", "title")
+						.param("city", "")
+						.param("uf", "")
+						.param("startDate", "2000-01-01")
+						.param("endDate", "2100-01-01")
+						.header(HttpHeaders.ACCEPT, "application/cbor;q=0.1, application/json"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andReturn();
+		MvcResult preferCbor = mockMvc.perform(get("/api/event/filter")
+						.param("fields", "title")
+						.param("city", "")
+						.param("uf", "")
+						.param("startDate", "2000-01-01")
+						.param("endDate", "2100-01-01")
+						.header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/cbor"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andReturn();
+
+		String jsonETag = json.getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(preferJson.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(jsonETag).doesNotContain("-cbor");
+		assertThat(preferCbor.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(jsonETag).contains("-cbor");
+	}
+}
@@ -0,0 +1,65 @@
+package com.eventostech.api.repositories;
+
+import com.eventostech.api.domain.event.Event;
+import com.eventostech.api.domain.event.EventResponseDTO;
+import com.eventostech.api.domain.event.ImageStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventSearchRepositoryTests {
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@BeforeEach
+	void setUp() {
+		this.save("Quasarconf de Arquitetura", "Palestras sobre sistemas distribuídos");
+		this.save("Meetup Quasarjs", "Encontro mensal da comunidade de arquitetura");
+		this.save("Workshop Kotlin", "Quasarconf satélite");
+	}
+
+	@Test
+	void matchesTermsByPrefixAndRanksTitleMatchesFirst() {
+		List<EventResponseDTO> events = eventRepository.searchEvents("quasarc", 0, 10);
+
+		assertThat(events).extracting(EventResponseDTO::title)
+				.contains("Quasarconf de Arquitetura", "Workshop Kotlin")
+				.doesNotContain("Meetup Quasarjs");
+		assertThat(events.get(0).title()).isEqualTo("Quasarconf de Arquitetura");
+	}
+
+	@Test
+	void requiresEveryTerm() {
+		List<EventResponseDTO> events = eventRepository.searchEvents("Quasar arquitetura", 0, 10);
+
+		assertThat(events).extracting(EventResponseDTO::title)
+				.contains("Quasarconf de Arquitetura", "Meetup Quasarjs")
+				.doesNotContain("Workshop Kotlin");
+	}
+
+	@Test
+	void blankQueryIsPaginated() {
+		assertThat(eventRepository.searchEvents("  ", 0, 2)).hasSize(2);
+	}
+
+	private void save(String title, String description) {
+		Event event = new Event();
+		event.setTitle(title);
+		event.setDescription(description);
+		event.setEventUrl("https://eventostech.com");
+		event.setDate(new Date(System.currentTimeMillis() + 60_000));
+		event.setRemote(true);
+		event.setImgStatus(ImageStatus.NONE);
+		eventRepository.save(event);
+	}
+}
@@ -0,0 +1,109 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.bulk.BulkImportReportDTO;
+import com.eventostech.api.repositories.CouponRepository;
+import com.eventostech.api.repositories.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "feed.upcoming.enabled=false")
+@ActiveProfiles("test")
+class BulkImportServiceTests {
+
+	private static final long DAY = 24 * 60 * 60 * 1000L;
+
+	@Autowired
+	private BulkImportService bulkImportService;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private CouponRepository couponRepository;
+
+	@Test
+	void importsValidRowsAndReportsInvalidOnes() {
+		UUID eventId = UUID.randomUUID();
+		long date = System.currentTimeMillis() - DAY;
+		String events = """
+				{"id":"%s","title":"Importado","description":"Evento importado","date":%d,"city":"Recife","state":"PE","remote":false,"eventUrl":"https://eventostech.com/importado"}
+				{"title":"Sem data","description":"Evento inválido","remote":true,"eventUrl":"https://eventostech.com/sem-data"}
+				{"id":"%s","title":"Duplicado","description":"Mesmo ID","date":%d,"remote":true,"eventUrl":"https://eventostech.com/duplicado"}
+				não é json
+				""".formatted(eventId, date, eventId, date);
+
+		BulkImportReportDTO report = bulkImportService.importEvents(stream(events), ImportFormat.NDJSON);
+
+		assertThat(report.received()).isEqualTo(4);
+		assertThat(report.imported()).isEqualTo(1);
+		assertThat(report.errors()).extracting(error -> error.line()).containsExactly(2L, 4L, 3L);
+		assertThat(eventService.getEventDetails(eventId).city()).isEqualTo("Recife");
+
+		String coupons = """
+				eventId,code,discount,valid,maxUses,perUserLimit
+				%s,"DESC,10",10,%d,100,2
+				%s,INEXISTENTE,5,%d,,
+				%s,"DESC,10",15,%d,,
+				""".formatted(eventId, date + 2 * DAY, UUID.randomUUID(), date + 2 * DAY, eventId, date + 2 * DAY);
+
+		report = bulkImportService.importCoupons(stream(coupons), ImportFormat.CSV);
+
+		assertThat(report.imported()).isEqualTo(1);
+		assertThat(report.errors()).extracting(error -> error.line()).containsExactly(3L, 4L);
+		assertThat(eventService.getEventDetails(eventId).coupons()).singleElement()
+				.satisfies(coupon -> assertThat(coupon.code()).isEqualTo("DESC,10"));
+		assertThat(couponRepository.findByEventIdAndCode(eventId, "DESC,10")).hasValueSatisfying(coupon -> {
+			assertThat(coupon.getMaxUses()).isEqualTo(100);
+			assertThat(coupon.getPerUserLimit()).isEqualTo(2);
+		});
+
+		// Código já cadastrado em importação anterior: só a linha repetida é recusada
+		String again = """
+				eventId,code,discount,valid
+				%s,"DESC,10",20,%d
+				%s,OUTRO,20,%d
+				""".formatted(eventId, date + 2 * DAY, eventId, date + 2 * DAY);
+
+		report = bulkImportService.importCoupons(stream(again), ImportFormat.CSV);
+
+		assertThat(report.imported()).isEqualTo(1);
+		assertThat(report.errors()).singleElement()
+				.satisfies(error -> assertThat(error.line()).isEqualTo(2))
+				.satisfies(error -> assertThat(error.message()).isEqualTo("Cupom já cadastrado para o evento"));
+	}
+
+	@Test
+	void importsRowsAcrossSeveralBatches() {
+		int rows = 1201; // Mais de dois lotes de import.batch-size, com o último incompleto
+		long date = System.currentTimeMillis() - DAY; // Eventos passados, para não alterar as listagens dos outros testes
+		long before = eventRepository.count();
+
+		StringBuilder csv = new StringBuilder("title,description,date,city,state,remote,eventUrl\n");
+		for (int i = 0; i < rows; i++) {
+			csv.append("Lote ").append(i).append(",Importação em lotes,").append(date).append(",Recife,PE,")
+					.append(i % 2 == 0).append(",https://eventostech.com/lote/").append(i).append('\n');
+		}
+		BulkImportReportDTO report = bulkImportService.importEvents(stream(csv.toString()), ImportFormat.CSV);
+
+		assertThat(report.received()).isEqualTo(rows);
+		assertThat(report.imported()).isEqualTo(rows);
+		assertThat(report.errors()).isEmpty();
+		assertThat(eventRepository.count()).isEqualTo(before + rows);
+	}
+
+	private static ByteArrayInputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,94 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.change.ChangeBatchDTO;
+import com.eventostech.api.domain.change.ChangeDTO;
+import com.eventostech.api.domain.coupon.CouponRequestDTO;
+import com.eventostech.api.domain.event.Event;
+import com.eventostech.api.domain.event.EventChangedEvent;
+import com.eventostech.api.domain.event.EventsRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ChangeStreamTests {
+
+	@Autowired
+	private ChangeRelay changeRelay;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private CouponService couponService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void consumerReceivesCommittedChangesInOrderWithoutGaps() throws Exception {
+		long position = this.catchUp();
+		CompletableFuture<ChangeBatchDTO> waiting = changeRelay.poll(position, 100, Duration.ofSeconds(10));
+		assertThat(waiting).isNotDone();
+
+		long future = System.currentTimeMillis() + 24 * 60 * 60 * 1000L;
+		Event event = eventService.createEvent(new EventsRequestDTO("Outbox", "Fluxo de alterações", future,
+				"Recife", "PE", false, "https://eventostech.com", null));
+		couponService.addCouponToEvent(event.getId(), new CouponRequestDTO("OUTBOX10", 10, future, null, null));
+
+		List<ChangeDTO> received = new ArrayList<>(waiting.get(10, TimeUnit.SECONDS).changes());
+		while (received.stream().filter(change -> change.eventId().equals(event.getId())).count() < 2) {
+			long after = received.get(received.size() - 1).seq();
+			received.addAll(changeRelay.poll(after, 100, Duration.ofSeconds(10)).get(10, TimeUnit.SECONDS).changes());
+		}
+
+		assertThat(received).extracting(ChangeDTO::seq)
+				.containsExactlyElementsOf(LongStream.rangeClosed(position + 1, position + received.size()).boxed().toList());
+		List<ChangeDTO> ofEvent = received.stream().filter(change -> change.eventId().equals(event.getId())).toList();
+		assertThat(ofEvent).extracting(ChangeDTO::type)
+				.containsExactly(EventChangedEvent.Type.EVENT_CREATED, EventChangedEvent.Type.COUPON_ADDED);
+		assertThat(ofEvent.get(0).payload()).contains("\"title\":\"Outbox\"", "\"city\":\"Recife\"");
+		assertThat(ofEvent.get(1).payload()).contains("\"code\":\"OUTBOX10\"");
+	}
+
+	@Test
+	void rolledBackChangesAreNeverPublished() throws Exception {
+		long position = this.catchUp();
+		long future = System.currentTimeMillis() + 24 * 60 * 60 * 1000L;
+
+		UUID eventId = transactionTemplate.execute(status -> {
+			Event event = eventService.createEvent(new EventsRequestDTO("Outbox descartada", "Rollback", future,
+					null, null, true, "https://eventostech.com", null));
+			status.setRollbackOnly();
+			return event.getId();
+		});
+		changeRelay.drain();
+
+		List<ChangeDTO> changes = changeRelay.poll(position, 1000, Duration.ZERO).get(10, TimeUnit.SECONDS).changes();
+		assertThat(changes).extracting(ChangeDTO::eventId).doesNotContain(eventId);
+	}
+
+	private long catchUp() throws Exception {
+		changeRelay.drain();
+		long position = 0;
+		ChangeBatchDTO batch;
+		do {
+			batch = changeRelay.poll(position, 1000, Duration.ZERO).get(10, TimeUnit.SECONDS);
+			position = batch.next();
+		} while (!batch.changes().isEmpty());
+		return position;
+	}
+}
@@ -0,0 +1,48 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.event.EventDetailsDTO;
+import com.eventostech.api.repositories.CouponRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CouponIndexTests {
+
+	@Test
+	void periodicEvictionDoesNotPostponeTheEntryTtl() {
+		AtomicLong nanos = new AtomicLong();
+		CouponIndex couponIndex = new CouponIndex(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10), nanos::get);
+		CouponRepository couponRepository = mock(CouponRepository.class);
+		ReflectionTestUtils.setField(couponIndex, "couponRepository", couponRepository);
+		UUID eventId = UUID.randomUUID();
+		Date validUntil = new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(30));
+		when(couponRepository.findValidCoupons(eq(eventId), any()))
+				.thenReturn(List.of(new EventDetailsDTO.CouponDTO("LONGO", 10, validUntil)));
+
+		assertThat(couponIndex.validCoupons(eventId, new Date())).hasSize(1);
+		// Vinte execuções da limpeza, uma por minuto: nenhum cupom expira, então nada é reescrito
+		for (int i = 0; i < 20; i++) {
+			nanos.addAndGet(TimeUnit.MINUTES.toNanos(1));
+			couponIndex.evictExpiredCoupons();
+		}
+		assertThat(couponIndex.validCoupons(eventId, new Date())).hasSize(1);
+
+		// A entrada expirou após 10 minutos e foi recarregada do banco
+		verify(couponRepository, times(2)).findValidCoupons(eq(eventId), any());
+	}
+}
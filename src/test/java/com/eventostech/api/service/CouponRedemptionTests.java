@@ -0,0 +1,152 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.coupon.CouponRequestDTO;
+import com.eventostech.api.domain.event.Event;
+import com.eventostech.api.domain.event.ImageStatus;
+import com.eventostech.api.repositories.CouponRepository;
+import com.eventostech.api.repositories.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CouponRedemptionTests {
+
+	private static final long DAY = 86_400_000L;
+
+	@Autowired
+	private CouponService couponService;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private CouponRepository couponRepository;
+
+	@Autowired
+	private EventService eventService;
+
+	@Test
+	void hotCouponIsNeverOversold() throws Exception {
+		UUID eventId = this.newEvent();
+		couponService.addCouponToEvent(eventId, new CouponRequestDTO("QUENTE", 20, System.currentTimeMillis() + DAY, 50, null));
+
+		List<Boolean> results = this.hammer(16, 400, attempt -> couponService.redeemCoupon(eventId, "QUENTE", "usuario-" + attempt));
+
+		assertThat(results.stream().filter(redeemed -> redeemed).count()).isEqualTo(50);
+		assertThat(couponRepository.findByEventIdAndCode(eventId, "QUENTE").orElseThrow().getUses()).isEqualTo(50);
+		assertThat(couponService.validateCoupon(eventId, "QUENTE", null).redeemable()).isFalse();
+	}
+
+	@Test
+	void perUserLimitHoldsUnderConcurrency() throws Exception {
+		UUID eventId = this.newEvent();
+		couponService.addCouponToEvent(eventId, new CouponRequestDTO("LIMITADO", 10, System.currentTimeMillis() + DAY, null, 2));
+
+		List<Boolean> results = this.hammer(8, 40, attempt -> couponService.redeemCoupon(eventId, "LIMITADO", "mesmo-usuario"));
+
+		assertThat(results.stream().filter(redeemed -> redeemed).count()).isEqualTo(2);
+		// Resgates recusados pelo limite do usuário não consomem usos do cupom
+		assertThat(couponRepository.findByEventIdAndCode(eventId, "LIMITADO").orElseThrow().getUses()).isEqualTo(2);
+		assertThat(couponService.validateCoupon(eventId, "LIMITADO", "outro-usuario").redeemable()).isTrue();
+	}
+
+	@Test
+	void exhaustedCouponLeavesEventDetails() {
+		UUID eventId = this.newEvent();
+		couponService.addCouponToEvent(eventId, new CouponRequestDTO("ULTIMO", 15, System.currentTimeMillis() + DAY, 1, null));
+		assertThat(eventService.getEventDetails(eventId).coupons()).extracting(coupon -> coupon.code()).containsExactly("ULTIMO");
+
+		couponService.redeemCoupon(eventId, "ULTIMO", "usuario");
+
+		assertThat(eventService.getEventDetails(eventId).coupons()).isEmpty();
+	}
+
+	@Test
+	void concurrentDuplicateCodesKeepOneCoupon() throws Exception {
+		UUID eventId = this.newEvent();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Boolean>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit((Callable<Boolean>) () -> {
+					start.await();
+					try {
+						couponService.addCouponToEvent(eventId, new CouponRequestDTO("CONCORRENTE", 10, System.currentTimeMillis() + DAY, null, null));
+						return true;
+					} catch (DuplicateCouponException e) {
+						return false;
+					}
+				}));
+			}
+			start.countDown();
+			long added = 0;
+			for (Future<Boolean> future : futures) {
+				added += future.get() ? 1 : 0;
+			}
+			assertThat(added).isEqualTo(1);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Dispara as tentativas de resgate em paralelo, liberadas ao mesmo tempo, e devolve quais tiveram sucesso.
+	 */
+	private List<Boolean> hammer(int threads, int attempts, RedeemAttempt redeem) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Boolean>> futures = new ArrayList<>();
+			for (int i = 0; i < attempts; i++) {
+				int attempt = i;
+				futures.add(executor.submit((Callable<Boolean>) () -> {
+					start.await();
+					try {
+						redeem.run(attempt);
+						return true;
+					} catch (CouponRedemptionException e) {
+						return false;
+					}
+				}));
+			}
+			start.countDown();
+			List<Boolean> results = new ArrayList<>();
+			for (Future<Boolean> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private UUID newEvent() {
+		Event event = new Event();
+		event.setTitle("Evento com cupom disputado");
+		event.setDate(new Date(System.currentTimeMillis() - DAY)); // No passado, fora das listagens
+		event.setRemote(true);
+		event.setEventUrl("https://example.com");
+		event.setImgStatus(ImageStatus.NONE);
+		return eventRepository.save(event).getId();
+	}
+
+	private interface RedeemAttempt {
+		void run(int attempt);
+	}
+}
@@ -0,0 +1,38 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.event.EventChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventDataVersionTests {
+
+	@Test
+	void nodesAtTheSameSequenceShareTheETag() {
+		EventDataVersion first = new EventDataVersion();
+		EventDataVersion second = new EventDataVersion();
+		first.followed(7, null);
+		second.followed(7, null);
+
+		assertThat(first.eTag("c1")).isEqualTo(second.eTag("c1"));
+	}
+
+	@Test
+	void localChangeChangesTheETagUntilSeenOnTheChangeStream() {
+		EventDataVersion writer = new EventDataVersion();
+		EventDataVersion other = new EventDataVersion();
+		writer.followed(7, null);
+		other.followed(7, null);
+		String before = writer.eTag("");
+		UUID eventId = UUID.randomUUID();
+
+		writer.onEventChanged(new EventChangedEvent(eventId, EventChangedEvent.Type.EVENT_UPDATED));
+		assertThat(writer.eTag("")).isNotEqualTo(before).isNotEqualTo(other.eTag(""));
+
+		writer.followed(8, eventId);
+		other.followed(8, eventId);
+		assertThat(writer.eTag("")).isEqualTo(other.eTag("")).isNotEqualTo(before);
+	}
+}
@@ -0,0 +1,55 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.event.EventDiscoveryDTO;
+import com.eventostech.api.domain.event.EventFacetsDTO;
+import com.eventostech.api.domain.event.EventResponseDTO;
+import com.eventostech.api.domain.event.EventsRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventDiscoveryTests {
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private EventFacetIndex eventFacetIndex;
+
+	@Test
+	void filtersMatchNormalizedCityAndStateAndFacetsFollowChanges() {
+		eventFacetIndex.rebuild();
+		long future = System.currentTimeMillis() + 24 * 60 * 60 * 1000L;
+		eventService.createEvent(new EventsRequestDTO("Descoberta 1", "Facetas", future, "São Paulo", "DQ",
+				false, "https://eventostech.com", null));
+		eventService.createEvent(new EventsRequestDTO("Descoberta 2", "Facetas", future + 1000, " sao  PAULO ", "dq",
+				false, "https://eventostech.com", null));
+		eventService.createEvent(new EventsRequestDTO("Descoberta 3", "Facetas", future + 2000, "Campinas", "Dq",
+				false, "https://eventostech.com", null));
+
+		EventDiscoveryDTO discovery = eventService.discoverEvents("dq", "SÃO PAULO", null, 0, 10);
+
+		assertThat(discovery.events()).extracting(EventResponseDTO::title)
+				.containsExactly("Descoberta 1", "Descoberta 2");
+		assertThat(discovery.facets().ufs())
+				.contains(new EventFacetsDTO.FacetCountDTO("dq", "DQ", 3));
+		assertThat(discovery.facets().cities())
+				.containsExactly(new EventFacetsDTO.FacetCountDTO("sao paulo", "São Paulo", 2),
+						new EventFacetsDTO.FacetCountDTO("campinas", "Campinas", 1));
+
+		assertThat(eventService.discoverEvents("DQ", null, false, 0, 10).events())
+				.extracting(EventResponseDTO::title)
+				.containsExactly("Descoberta 1", "Descoberta 2", "Descoberta 3");
+		assertThat(eventService.discoverEvents("DQ", null, true, 0, 10).events()).isEmpty();
+
+		eventFacetIndex.rebuild();
+		assertThat(eventService.discoverEvents("dq", null, null, 0, 10).facets().cities())
+				.containsExactly(new EventFacetsDTO.FacetCountDTO("sao paulo", "São Paulo", 2),
+						new EventFacetsDTO.FacetCountDTO("campinas", "Campinas", 1));
+	}
+}
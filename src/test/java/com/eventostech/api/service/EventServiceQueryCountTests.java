@@ -0,0 +1,134 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.StatementCounter;
+import com.eventostech.api.domain.address.Address;
+import com.eventostech.api.domain.coupon.CouponRequestDTO;
+import com.eventostech.api.domain.event.EventDetailsDTO;
+import com.eventostech.api.domain.event.Event;
+import com.eventostech.api.domain.event.EventResponseDTO;
+import com.eventostech.api.domain.event.ImageStatus;
+import com.eventostech.api.repositories.AddressRepository;
+import com.eventostech.api.repositories.EventRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "feed.upcoming.enabled=false")
+@ActiveProfiles("test")
+class EventServiceQueryCountTests {
+
+	private static final long DAY = 24 * 60 * 60 * 1000L;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private AddressRepository addressRepository;
+
+	@Autowired
+	private CouponService couponService;
+
+	@Autowired
+	private CouponIndex couponIndex;
+
+	@Autowired
+	private ChangeRelay changeRelay;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		for (int i = 0; i < 5; i++) {
+			Event event = new Event();
+			event.setTitle("Query count " + i);
+			event.setDescription("Evento para contagem de consultas");
+			event.setEventUrl("https://eventostech.com/" + i);
+			event.setDate(new Date(System.currentTimeMillis() + (i + 1) * DAY));
+			event.setRemote(i % 2 == 0);
+			event.setImgStatus(ImageStatus.NONE);
+			eventRepository.save(event);
+
+			if (!event.getRemote()) {
+				Address address = new Address();
+				address.setCity("Contagem");
+				address.setUf("MG");
+				address.setEvent(event);
+				addressRepository.save(address);
+			}
+		}
+
+		// Publica as alterações pendentes de outros testes, para que o relay não carregue entidades durante a medição
+		changeRelay.drain();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		StatementCounter.reset();
+	}
+
+	@Test
+	void upcomingEventsUseSingleStatement() {
+		List<EventResponseDTO> events = eventService.getUpcomingEvents(0, 10);
+
+		assertThat(events).isNotEmpty();
+		assertThat(StatementCounter.count()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void filteredEventsUseSingleStatement() {
+		List<EventResponseDTO> events = eventService.getFilteredEvents(0, 10, "Contagem", "MG",
+				new Date(), new Date(System.currentTimeMillis() + 10 * DAY));
+
+		assertThat(events).isNotEmpty().allMatch(event -> event.city().equals("Contagem"));
+		assertThat(StatementCounter.count()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void searchUsesSingleStatement() {
+		List<EventResponseDTO> events = eventService.searchEvents("Query count", 0, 10);
+
+		assertThat(events).hasSizeGreaterThanOrEqualTo(5);
+		assertThat(StatementCounter.count()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void eventDetailsAreServedFromMemoryAfterFirstLoad() {
+		UUID eventId = eventRepository.findAll().get(0).getId();
+		long now = System.currentTimeMillis();
+		for (int i = 1; i <= 3; i++) {
+			couponService.addCouponToEvent(eventId,
+					new CouponRequestDTO("INDICE" + i + "-" + UUID.randomUUID(), 10 * i, now + i * DAY, null, null));
+		}
+
+		eventService.getEventDetails(eventId);
+		StatementCounter.reset();
+		EventDetailsDTO details = eventService.getEventDetails(eventId);
+
+		assertThat(details.coupons()).hasSizeGreaterThanOrEqualTo(3);
+		assertThat(StatementCounter.count()).isZero();
+
+		// Busca binária pela expiração: daqui a 1,5 dia só restam os cupons de 2 e 3 dias
+		assertThat(couponIndex.validCoupons(eventId, new Date(now + DAY + DAY / 2)))
+				.extracting(EventDetailsDTO.CouponDTO::discount)
+				.containsSubsequence(20, 30)
+				.doesNotContain(10);
+	}
+}
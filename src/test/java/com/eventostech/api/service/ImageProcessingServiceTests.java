@@ -0,0 +1,50 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.event.ImageVariant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageProcessingServiceTests {
+
+	private final ImageProcessingService imageProcessingService = new ImageProcessingService();
+
+	private Path source;
+
+	@BeforeEach
+	void writeImage() throws IOException {
+		source = Files.createTempFile("event-image-", ".png");
+		ImageIO.write(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB), "png", source.toFile());
+		ReflectionTestUtils.setField(imageProcessingService, "jpegQuality", 0.8f);
+	}
+
+	@AfterEach
+	void deleteImage() throws IOException {
+		Files.deleteIfExists(source);
+	}
+
+	@Test
+	void imageWithinPixelLimitGetsAllDerivatives() throws IOException {
+		ReflectionTestUtils.setField(imageProcessingService, "maxPixels", 20_000L);
+
+		assertThat(imageProcessingService.createDerivatives(source)).containsOnlyKeys(ImageVariant.values());
+	}
+
+	@Test
+	void imageOverPixelLimitIsRejected() {
+		ReflectionTestUtils.setField(imageProcessingService, "maxPixels", 19_999L);
+
+		assertThatThrownBy(() -> imageProcessingService.createDerivatives(source))
+				.isInstanceOf(InvalidImageUploadException.class);
+	}
+}
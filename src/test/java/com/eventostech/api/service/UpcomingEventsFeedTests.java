@@ -0,0 +1,131 @@
+package com.eventostech.api.service;
+
+import com.eventostech.api.domain.event.Event;
+import com.eventostech.api.domain.event.EventChangedEvent;
+import com.eventostech.api.domain.event.EventCursor;
+import com.eventostech.api.domain.event.EventPageDTO;
+import com.eventostech.api.domain.event.EventResponseDTO;
+import com.eventostech.api.domain.event.ImageStatus;
+import com.eventostech.api.repositories.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UpcomingEventsFeedTests {
+
+	@Autowired
+	private UpcomingEventsFeed upcomingEventsFeed;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private ChangeOutbox changeOutbox;
+
+	@Autowired
+	private ChangeRelay changeRelay;
+
+	@Autowired
+	private ChangeFollower changeFollower;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void snapshotMatchesDatabaseOrderIncludingIdTieBreak() {
+		Date sameDate = new Date(System.currentTimeMillis() + 60 * 60 * 1000L);
+		for (int i = 0; i < 20; i++) {
+			this.save("Feed " + i, i % 2 == 0 ? sameDate : new Date(sameDate.getTime() + i * 1000L));
+		}
+		this.save("Feed passado", new Date(System.currentTimeMillis() - 60_000));
+
+		upcomingEventsFeed.rebuild();
+
+		List<EventResponseDTO> fromDatabase = eventRepository.findUpcomingEvents(new Date(), PageRequest.of(0, 500)).getContent();
+		List<EventResponseDTO> fromSnapshot = upcomingEventsFeed.page(0, 500).orElseThrow();
+
+		assertThat(fromSnapshot).extracting(EventResponseDTO::id)
+				.containsExactlyElementsOf(fromDatabase.stream().map(EventResponseDTO::id).toList());
+		assertThat(fromSnapshot).extracting(EventResponseDTO::title).doesNotContain("Feed passado");
+	}
+
+	@Test
+	void cursorPagesCoverSnapshotWithoutGaps() {
+		for (int i = 0; i < 7; i++) {
+			this.save("Cursor " + i, new Date(System.currentTimeMillis() + (i + 1) * 60_000L));
+		}
+		upcomingEventsFeed.rebuild();
+
+		List<EventResponseDTO> paged = new ArrayList<>();
+		EventPageDTO page = upcomingEventsFeed.pageAfter(null, 3).orElseThrow();
+		paged.addAll(page.events());
+		while (page.nextCursor() != null) {
+			page = upcomingEventsFeed.pageAfter(EventCursor.decode(page.nextCursor()), 3).orElseThrow();
+			paged.addAll(page.events());
+		}
+
+		assertThat(paged).containsExactlyElementsOf(upcomingEventsFeed.page(0, 500).orElseThrow());
+	}
+
+	@Test
+	void cappedSnapshotFallsBackToDatabaseBeyondItsEnd() {
+		for (int i = 0; i < 5; i++) {
+			this.save("Limite " + i, new Date(System.currentTimeMillis() + (i + 1) * 60_000L));
+		}
+		ReflectionTestUtils.setField(upcomingEventsFeed, "maxEvents", 3);
+		try {
+			upcomingEventsFeed.rebuild();
+
+			List<EventResponseDTO> fromDatabase = eventRepository.findUpcomingEvents(new Date(), PageRequest.of(0, 2)).getContent();
+			assertThat(upcomingEventsFeed.page(0, 2)).hasValueSatisfying(events -> assertThat(events)
+					.extracting(EventResponseDTO::id)
+					.containsExactlyElementsOf(fromDatabase.stream().map(EventResponseDTO::id).toList()));
+			assertThat(upcomingEventsFeed.page(1, 2)).isEmpty();
+			assertThat(upcomingEventsFeed.pageAfter(null, 3)).isEmpty();
+		} finally {
+			ReflectionTestUtils.setField(upcomingEventsFeed, "maxEvents", 100_000);
+			upcomingEventsFeed.rebuild();
+		}
+	}
+
+	@Test
+	void changesFromOtherNodesReachSnapshotThroughChangeStream() {
+		upcomingEventsFeed.rebuild();
+
+		// Simula a escrita de outro nó: nenhum evento local é publicado, só a alteração na outbox
+		Event event = transactionTemplate.execute(status -> {
+			Event saved = this.save("Outro nó", new Date(System.currentTimeMillis() + 30_000L));
+			changeOutbox.appendEvent(saved.getId(), EventChangedEvent.Type.EVENT_CREATED);
+			return saved;
+		});
+		changeRelay.drain();
+		changeFollower.follow();
+
+		assertThat(upcomingEventsFeed.page(0, 500).orElseThrow())
+				.extracting(EventResponseDTO::id)
+				.contains(event.getId());
+	}
+
+	private Event save(String title, Date date) {
+		Event event = new Event();
+		event.setTitle(title);
+		event.setDescription("Evento do snapshot");
+		event.setEventUrl("https://eventostech.com");
+		event.setDate(date);
+		event.setRemote(true);
+		event.setImgStatus(ImageStatus.NONE);
+		return eventRepository.save(event);
+	}
+}